@@ -0,0 +1,54 @@
+package com.demands.benchmarks;
+
+import com.demands.config.BinaryFormatsConfig;
+import com.demands.dtos.DemandDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization time of a demand list as JSON (the default) and as the negotiated binary formats. Payload
+ * sizes do not vary between iterations, so they are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<DemandDTO> dtos;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "cbor" -> BinaryFormatsConfig.cborMapper();
+            case "smile" -> BinaryFormatsConfig.smileMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        dtos = DemandFixtures.dtos(size);
+        encoded = objectMapper.writeValueAsBytes(dtos);
+        System.out.printf("%n%s, %d demands: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return objectMapper.readValue(encoded, DemandDTO[].class);
+    }
+}
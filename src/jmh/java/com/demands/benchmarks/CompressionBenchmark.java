@@ -0,0 +1,67 @@
+package com.demands.benchmarks;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.PageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of gzip on list responses, written the way Tomcat compresses (gzip stream over the response, sync
+ * flush) against plain JSON and against compressing an already buffered body. The compressed and plain sizes
+ * are printed once per trial, for the bandwidth side of the trade-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressionBenchmark {
+
+    // 200 is DemandService.MAX_PAGE_SIZE; 5000 stands for an export
+    @Param({"10", "200", "5000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(1 << 20);
+    private PageDTO<DemandDTO> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<DemandDTO> dtos = DemandFixtures.dtos(size);
+        page = new PageDTO<>(dtos, dtos.size(), null);
+        int plain = plain().length;
+        int gzip = gzipStreaming().length;
+        System.out.printf("%n%d demands: %d bytes plain, %d bytes gzip (%.1f%%)%n", size, plain, gzip, 100.0 * gzip / plain);
+    }
+
+    @Benchmark
+    public byte[] plain() throws IOException {
+        sink.reset();
+        objectMapper.writeValue(sink, page);
+        return sink.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] gzipStreaming() throws IOException {
+        sink.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sink, 8192, true)) {
+            objectMapper.writeValue(gzip, page);
+        }
+        return sink.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] gzipBuffered() throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(page);
+        sink.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sink, 8192, true)) {
+            gzip.write(body);
+        }
+        return sink.toByteArray();
+    }
+}
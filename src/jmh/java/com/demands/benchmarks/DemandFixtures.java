@@ -0,0 +1,68 @@
+package com.demands.benchmarks;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic demand lists shaped like a full page of production data.
+ */
+public final class DemandFixtures {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    private DemandFixtures() {
+    }
+
+    public static List<DemandEntity> entities(int size) {
+        List<DemandEntity> demands = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            demands.add(DemandEntity.builder()
+                    .demandId(String.format("65a4f1c2e4b0%012d", i))
+                    .userId("user-" + (i % 20) + "@example.com")
+                    .userIds(List.of("user-" + ((i + 1) % 20) + "@example.com", "user-" + ((i + 2) % 20) + "@example.com"))
+                    .title("Demanda " + i)
+                    .description("Descrição da demanda número " + i + " com algum texto livre para o corpo")
+                    .status(DemandStatus.values()[i % DemandStatus.values().length])
+                    .startDate("2024-01-15")
+                    .endDate("2024-02-15")
+                    .type(DemandType.values()[i % DemandType.values().length])
+                    .startTime(BASE.plusMinutes(i))
+                    .pauseTime(i % 2 == 0 ? BASE.plusMinutes(i + 30) : null)
+                    .totalDuration(i * 60L)
+                    .autoStart(i % 3 == 0)
+                    .groupId("group-" + (i % 4))
+                    .statusDate(BASE.plusMinutes(i + 45))
+                    .build());
+        }
+        return demands;
+    }
+
+    public static List<DemandDTO> dtos(int size) {
+        List<DemandDTO> dtos = new ArrayList<>(size);
+        for (DemandEntity demand : entities(size)) {
+            dtos.add(DemandDTO.builder()
+                    .demandId(demand.getDemandId())
+                    .userId(demand.getUserId())
+                    .userIds(demand.getUserIds())
+                    .title(demand.getTitle())
+                    .description(demand.getDescription())
+                    .status(demand.getStatus())
+                    .startDate(demand.getStartDate())
+                    .endDate(demand.getEndDate())
+                    .type(demand.getType())
+                    .startTime(demand.getStartTime())
+                    .pauseTime(demand.getPauseTime())
+                    .totalDuration(demand.getTotalDuration())
+                    .autoStart(demand.isAutoStart())
+                    .statusDate(demand.getStatusDate())
+                    .build());
+        }
+        return dtos;
+    }
+}
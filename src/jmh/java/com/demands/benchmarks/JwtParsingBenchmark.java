@@ -0,0 +1,52 @@
+package com.demands.benchmarks;
+
+import com.demands.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtUtil#extractClaims} on a token already in the claims cache versus a full signature check,
+ * the latter measured with a zero TTL so every entry expires as soon as it is written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil(SECRET, 10_000, Duration.ofMinutes(5));
+        uncached = new JwtUtil(SECRET, 10_000, Duration.ZERO);
+        token = Jwts.builder()
+                .setSubject("user-1@example.com")
+                .claim("role", "MANAGER")
+                .claim("groupId", "group-1")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        cached.extractClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedToken() {
+        return cached.extractClaims(token);
+    }
+
+    @Benchmark
+    public Claims verifiedToken() {
+        return uncached.extractClaims(token);
+    }
+}
@@ -0,0 +1,102 @@
+package com.demands.benchmarks;
+
+import com.demands.dtos.PageDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.repositories.DemandRepositoryCustom;
+import com.demands.mappers.DemandMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A list page read and served as full demands against {@code view=SUMMARY}. {@code read} decodes the BSON bytes the
+ * driver would receive (the whole document, or only {@link DemandRepositoryCustom#SUMMARY_FIELDS}) into
+ * entities; {@code respond} maps and serializes the page. Descriptions are a few hundred characters, like
+ * real ones. BSON and JSON sizes do not vary between iterations, so they are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListViewBenchmark {
+
+    private static final String DESCRIPTION = "Levantar os requisitos com a área solicitante, revisar o fluxo atual, "
+            + "documentar as regras de negócio encontradas e alinhar prazos com o time. Incluir evidências dos testes, "
+            + "links para os chamados relacionados e observações sobre dependências externas que possam atrasar a entrega.";
+
+    // 50 is DemandService.DEFAULT_PAGE_SIZE, 200 its MAX_PAGE_SIZE
+    @Param({"50", "200"})
+    private int size;
+
+    @Param({"full", "summary"})
+    private String view;
+
+    private final DemandMapper demandMapper = Mappers.getMapper(DemandMapper.class);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final DocumentCodec codec = new DocumentCodec();
+    private MappingMongoConverter converter;
+    private List<RawBsonDocument> documents;
+    private List<DemandEntity> entities;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        documents = new ArrayList<>(size);
+        long bsonBytes = 0;
+        for (DemandEntity demand : DemandFixtures.entities(size)) {
+            demand.setDescription(DESCRIPTION);
+            Document document = new Document();
+            converter.write(demand, document);
+            if (view.equals("summary")) {
+                Document projected = new Document();
+                for (String field : DemandRepositoryCustom.SUMMARY_FIELDS) {
+                    String key = field.equals("demandId") ? "_id" : field;
+                    if (document.containsKey(key)) {
+                        projected.put(key, document.get(key));
+                    }
+                }
+                document = projected;
+            }
+            RawBsonDocument raw = new RawBsonDocument(document, codec);
+            bsonBytes += raw.getByteBuffer().remaining();
+            documents.add(raw);
+        }
+        entities = read();
+        System.out.printf("%n%s, %d demands: %d bytes BSON read, %d bytes JSON written%n",
+                view, size, bsonBytes, respond().length);
+    }
+
+    @Benchmark
+    public List<DemandEntity> read() {
+        List<DemandEntity> read = new ArrayList<>(documents.size());
+        for (RawBsonDocument document : documents) {
+            read.add(converter.read(DemandEntity.class, document.decode(codec)));
+        }
+        return read;
+    }
+
+    @Benchmark
+    public byte[] respond() throws JsonProcessingException {
+        List<?> content = view.equals("summary") ? demandMapper.toSummaryView(entities) : demandMapper.toDTOView(entities);
+        return objectMapper.writeValueAsBytes(new PageDTO<>(content, content.size(), null));
+    }
+}
@@ -0,0 +1,59 @@
+package com.demands.benchmarks;
+
+import com.demands.infraestructure.ratelimit.LoadShedder;
+import com.demands.infraestructure.ratelimit.MongoLoadTracker;
+import com.demands.infraestructure.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request admission cost under contention: the user and group token buckets of {@link RateLimiter}
+ * for callers spread over 1000 users in 50 groups, and a {@link LoadShedder} slot taken and given back.
+ * Rates are high enough that nearly every call is admitted, which is the expensive path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int GROUPS = 50;
+
+    private RateLimiter limiter;
+    private LoadShedder shedder;
+    private String[] users;
+    private String[] groups;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(1e6, 1_000_000, 1e6, 1_000_000, 1e7, 10_000_000, 1e7, 10_000_000, Duration.ofMinutes(10), 100_000);
+        shedder = new LoadShedder(new MongoLoadTracker(), 10_000, 10, 10_000, Duration.ofMillis(50), 50);
+        users = new String[USERS];
+        groups = new String[GROUPS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = "user-" + i + "@example.com";
+        }
+        for (int i = 0; i < GROUPS; i++) {
+            groups[i] = "group-" + i;
+        }
+    }
+
+    @Benchmark
+    public long rateLimit() {
+        int user = ThreadLocalRandom.current().nextInt(USERS);
+        return limiter.tryAcquire(users[user], groups[user % GROUPS], false, System.nanoTime());
+    }
+
+    @Benchmark
+    public boolean shedLoad() {
+        boolean admitted = shedder.tryAcquire();
+        if (admitted) {
+            shedder.release(System.nanoTime());
+        }
+        return admitted;
+    }
+}
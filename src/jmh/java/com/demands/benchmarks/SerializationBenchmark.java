@@ -0,0 +1,65 @@
+package com.demands.benchmarks;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.PageDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.exceptions.ApiResponse;
+import com.demands.mappers.DemandMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of list responses, with the mapper configured the way Spring Boot configures it
+ * (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private final DemandMapper demandMapper = Mappers.getMapper(DemandMapper.class);
+    private ObjectMapper objectMapper;
+    private List<DemandEntity> entities;
+    private List<DemandDTO> dtos;
+    private ApiResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entities = DemandFixtures.entities(size);
+        dtos = DemandFixtures.dtos(size);
+        response = new ApiResponse(200, "Lote processado.", new PageDTO<>(dtos, dtos.size(), "cursor"));
+    }
+
+    @Benchmark
+    public byte[] demandList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] apiResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // Map-then-serialize as a list endpoint does it, with and without the intermediate DTO list
+    @Benchmark
+    public byte[] pageMappedEagerly() throws JsonProcessingException {
+        List<DemandDTO> content = demandMapper.toDTOs(entities);
+        return objectMapper.writeValueAsBytes(new PageDTO<>(content, content.size(), null));
+    }
+
+    @Benchmark
+    public byte[] pageMappedLazily() throws JsonProcessingException {
+        List<DemandDTO> content = demandMapper.toDTOView(entities);
+        return objectMapper.writeValueAsBytes(new PageDTO<>(content, content.size(), null));
+    }
+}
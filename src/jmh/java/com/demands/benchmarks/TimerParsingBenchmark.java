@@ -0,0 +1,35 @@
+package com.demands.benchmarks;
+
+import com.demands.infraestructure.repositories.DemandTransitionUpdates;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code LocalDateTime} work done by {@code DemandService.updateDemandTimer} before it reaches Mongo:
+ * parsing both ends of the window and deriving the duration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimerParsingBenchmark {
+
+    private final String startTime = "2024-01-15T09:30:00";
+    private final String endTime = "2024-01-15T17:45:30.250";
+
+    @Benchmark
+    public long parseAndMeasure() {
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        LocalDateTime end = LocalDateTime.parse(endTime);
+        return Duration.between(start, end).toSeconds();
+    }
+
+    @Benchmark
+    public long elapsedSeconds() {
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        LocalDateTime end = LocalDateTime.parse(endTime);
+        return DemandTransitionUpdates.elapsedSeconds(start, end);
+    }
+}
@@ -0,0 +1,81 @@
+package com.demands.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Compact binary encodings of every response, chosen with the Accept header; JSON stays the default because its
+ * converter is registered first. Both formats write {@link LocalDateTime} as epoch milliseconds in the server
+ * zone (the instant Mongo stores). CBOR writes enums as ordinals, so enum constants must only ever be appended;
+ * Smile keeps the names but back-references repeated values, so each name is written once per response.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Beans of the default converters' types replace them in place, keeping JSON ahead in the list
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper());
+    }
+
+    public static ObjectMapper cborMapper() {
+        return epochTimestamps(Jackson2ObjectMapperBuilder.cbor())
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .build();
+    }
+
+    public static ObjectMapper smileMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return epochTimestamps(new Jackson2ObjectMapperBuilder().factory(factory)).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder epochTimestamps(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer())
+                .deserializerByType(LocalDateTime.class, new EpochMillisDeserializer());
+    }
+
+    private static class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private static class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+        }
+    }
+}
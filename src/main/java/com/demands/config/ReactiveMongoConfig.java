@@ -0,0 +1,24 @@
+package com.demands.config;
+
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Brings up the reactive Mongo driver for the {@code reactive} profile only. {@link com.demands.DemandsApplication}
+ * excludes these auto-configurations, because having the reactive starter on the classpath would otherwise open a
+ * second {@code MongoClient} with its own connection pool and monitor threads next to the blocking one, even when
+ * no reactive endpoint is served.
+ */
+@Configuration
+@Profile("reactive")
+@ImportAutoConfiguration({
+        MongoReactiveAutoConfiguration.class,
+        MongoReactiveDataAutoConfiguration.class,
+        MongoReactiveRepositoriesAutoConfiguration.class
+})
+public class ReactiveMongoConfig {
+}
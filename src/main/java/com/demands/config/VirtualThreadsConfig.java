@@ -0,0 +1,28 @@
+package com.demands.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Guards the {@code virtual-threads} profile. Spring Boot silently ignores {@code spring.threads.virtual.enabled}
+ * below Java 21 and keeps platform threads, so a deployment that asked for virtual threads on an older JVM would
+ * run in the other threading mode without notice; startup fails instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        checkRuntime(Runtime.version().feature());
+    }
+
+    static void checkRuntime(int javaVersion) {
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java " + MIN_JAVA_VERSION
+                    + " or newer, but this JVM is Java " + javaVersion + ". Run on Java " + MIN_JAVA_VERSION
+                    + " (build with -Pjava21) or drop the virtual-threads profile.");
+        }
+    }
+}
@@ -1,42 +1,114 @@
 package com.demands.controllers;
 
+import com.demands.dtos.ActiveTimerDTO;
+import com.demands.dtos.ArchiveResultDTO;
+import com.demands.dtos.BatchItemResultDTO;
+import com.demands.dtos.CacheStatsDTO;
 import com.demands.dtos.DemandDTO;
+import com.demands.dtos.DemandFilter;
+import com.demands.dtos.DemandView;
+import com.demands.dtos.ExportFormat;
+import com.demands.dtos.PageDTO;
+import com.demands.dtos.ReaperResultDTO;
+import com.demands.dtos.RollupRebuildDTO;
+import com.demands.dtos.TimeRollupDTO;
+import com.demands.dtos.TimeTotalDTO;
 import com.demands.dtos.TimerDTO;
+import com.demands.dtos.TransitionRequestDTO;
+import com.demands.infraestructure.cache.DemandCache;
 import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import com.demands.infraestructure.entity.DemandTimeTotalEntity;
 import com.demands.infraestructure.exceptions.ApiResponse;
+import com.demands.infraestructure.exceptions.DemandConflictException;
 import com.demands.infraestructure.exceptions.DemandNotFound;
+import com.demands.infraestructure.exceptions.InvalidCursorException;
 import com.demands.infraestructure.exceptions.InvalidStatusException;
-import com.demands.security.JwtUtil;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.metrics.DemandMetrics.ListEndpoint;
+import com.demands.infraestructure.repositories.DemandCursor;
+import com.demands.infraestructure.repositories.DemandVersion;
+import com.demands.mappers.DemandMapper;
+import com.demands.security.JwtPrincipal;
+import com.demands.services.DemandArchiveService;
+import com.demands.services.DemandBatchService;
+import com.demands.services.DemandEventHub;
+import com.demands.services.DemandExportService;
+import com.demands.services.DemandReaperService;
 import com.demands.services.DemandService;
+import com.demands.services.DemandTimeRollupService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/demands")
 @RequiredArgsConstructor
 public class DemandController {
 
+    // Per-caller lists: browsers may keep them but must revalidate with the ETag before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final DemandService demandService;
-    private final JwtUtil jwtUtil;
+    private final DemandExportService demandExportService;
+    private final DemandBatchService demandBatchService;
+    private final DemandTimeRollupService demandTimeRollupService;
+    private final DemandReaperService demandReaperService;
+    private final DemandArchiveService demandArchiveService;
+    private final DemandEventHub demandEventHub;
+    private final DemandMapper demandMapper;
+    private final DemandCache demandCache;
+    private final DemandMetrics demandMetrics;
 
     @PostMapping
     public ResponseEntity<ApiResponse> createDemand(HttpServletRequest request, @Valid @RequestBody DemandDTO demandDTO) {
         String userId = (String) request.getAttribute("userId");
         demandDTO.setUserId(userId); // <-- garanta que salva o email do usuário autenticado
-        DemandEntity demand = convertToEntity(demandDTO);
+        DemandEntity demand = demandMapper.toEntity(demandDTO);
+        demand.setGroupId(groupIdOf(request));
         DemandEntity createdDemand = demandService.createDemand(demand);
-        DemandDTO createdDemandDTO = convertToDTO(createdDemand);
+        DemandDTO createdDemandDTO = demandMapper.toDTO(createdDemand);
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Demanda criada com sucesso.", createdDemandDTO);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse> createDemands(HttpServletRequest request, @RequestBody List<DemandDTO> demandDTOs) {
+        String userId = (String) request.getAttribute("userId");
+        demandDTOs.forEach(demandDTO -> demandDTO.setUserId(userId));
+        List<DemandEntity> demands = demandMapper.toEntities(demandDTOs);
+        String groupId = groupIdOf(request);
+        demands.forEach(demand -> demand.setGroupId(groupId));
+        return batchResponse(demandBatchService.createDemands(demands));
+    }
+
+    @PutMapping("/batch/transitions")
+    public ResponseEntity<ApiResponse> transitionDemands(@RequestBody List<TransitionRequestDTO> transitions) {
+        return batchResponse(demandBatchService.transitionDemands(transitions));
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<ApiResponse> deleteDemands(@RequestBody List<String> demandIds) {
+        return batchResponse(demandBatchService.deleteDemands(demandIds));
+    }
+
     @PutMapping("/{demandId}/start")
     public ResponseEntity<ApiResponse> startDemand(@PathVariable String demandId) {
         demandService.startDemand(demandId);
@@ -48,8 +120,8 @@ public class DemandController {
         try {
             demandService.pauseDemand(demandId);
             return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Demanda pausada com sucesso."), HttpStatus.OK);
-        } catch (IllegalStateException ex) {
-            return new ResponseEntity<>(new ApiResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (DemandConflictException ex) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.CONFLICT.value(), ex.getMessage()), HttpStatus.CONFLICT);
         } catch (DemandNotFound ex) {
             return new ResponseEntity<>(new ApiResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()), HttpStatus.NOT_FOUND);
         }
@@ -60,8 +132,8 @@ public class DemandController {
         try {
             demandService.continueDemand(demandId);
             return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Demanda continuada com sucesso."), HttpStatus.OK);
-        } catch (IllegalStateException ex) {
-            return new ResponseEntity<>(new ApiResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (DemandConflictException ex) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.CONFLICT.value(), ex.getMessage()), HttpStatus.CONFLICT);
         } catch (DemandNotFound ex) {
             return new ResponseEntity<>(new ApiResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()), HttpStatus.NOT_FOUND);
         }
@@ -78,35 +150,47 @@ public class DemandController {
         demandService.deleteDemand(demandId);
         return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Demanda deletada com sucesso."), HttpStatus.OK);
     }
-//
-//    @GetMapping("/{demandId}")
-//    public ResponseEntity<DemandDTO> getDemand(@PathVariable String demandId) {
-//        DemandEntity demand = demandService.getDemand(demandId);
-//        DemandDTO demandDTO = convertToDTO(demand);
-//        return ResponseEntity.ok(demandDTO);
-//    }
+
+    // The full demand, for rows of a view=SUMMARY list; a missing or out-of-scope id is answered 404 by GlobalExceptionHandler
+    @GetMapping("/{demandId}")
+    public ResponseEntity<?> getDemand(HttpServletRequest request, @PathVariable String demandId) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(demandMapper.toDTO(demandService.getVisibleDemand(
+                demandId, principal.getUserId(), principal.getRole(), principal.getGroupId())));
+    }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getDemandsByAnyUserId(@PathVariable String userId) {
+    public ResponseEntity<?> getDemandsByAnyUserId(@PathVariable String userId, DemandFilter filter,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "" + DemandService.DEFAULT_PAGE_SIZE) int limit,
+                                                   WebRequest webRequest) {
+        DemandVersion version = demandService.getVersionByAnyUserId(userId, filter);
+        if (notModified(webRequest, version, "user", userId, filter, cursor, limit)) {
+            return null;
+        }
         try {
-            List<DemandEntity> demands = demandService.getDemandsByAnyUserId(userId);
-            List<DemandDTO> demandDTOs = demands.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(demandDTOs);
+            Slice<DemandEntity> demands = demandService.getDemandsByAnyUserId(userId, filter, cursor, limit, version);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(toPage(ListEndpoint.USER, demands, filter));
         } catch (DemandNotFound ex) {
             return new ResponseEntity<>(new ApiResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<DemandDTO>> getUserDemands(HttpServletRequest request) {
+    public ResponseEntity<PageDTO<?>> getUserDemands(HttpServletRequest request, DemandFilter filter,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "" + DemandService.DEFAULT_PAGE_SIZE) int limit,
+                                                      WebRequest webRequest) {
         String userId = (String) request.getAttribute("userId"); // Use userId instead of userEmail
-        List<DemandEntity> demands = demandService.getDemandsByUserId(userId); // Update service call
-        List<DemandDTO> demandDTOs = demands.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(demandDTOs);
+        DemandVersion version = demandService.getVersionByUserId(userId, filter);
+        if (notModified(webRequest, version, "own", userId, filter, cursor, limit)) {
+            return null;
+        }
+        Slice<DemandEntity> demands = demandService.getDemandsByUserId(userId, filter, cursor, limit, version); // Update service call
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(toPage(ListEndpoint.OWN, demands, filter));
     }
 
     @PutMapping("/{demandId}/update")
@@ -120,7 +204,8 @@ public class DemandController {
         // Preservar o userId da demanda existente
         demandDTO.setUserId(existingDemand.getUserId());
 
-        DemandEntity demand = convertToEntity(demandDTO);
+        DemandEntity demand = demandMapper.toEntity(demandDTO);
+        demand.setGroupId(existingDemand.getGroupId()); // Not part of the DTO, keep the stored group
         demandService.updateDemand(demand);
 
         ApiResponse response = new ApiResponse(HttpStatus.OK.value(), "Demanda atualizada com sucesso.", demandDTO);
@@ -145,14 +230,14 @@ public class DemandController {
 //        return ResponseEntity.ok(demandDTOs);
 //    }
 
-    @GetMapping("/status/{status}")
-    public ResponseEntity<?> getDemandsByStatus(@PathVariable String status) {
+    // The template variable is not named "status" so it does not bind into DemandFilter.status
+    @GetMapping("/status/{statusName}")
+    public ResponseEntity<?> getDemandsByStatus(@PathVariable("statusName") String status, DemandFilter filter,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "" + DemandService.DEFAULT_PAGE_SIZE) int limit) {
         try {
-            List<DemandEntity> demands = demandService.getDemandsByStatus(status);
-            List<DemandDTO> demandDTOs = demands.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(demandDTOs);
+            Slice<DemandEntity> demands = demandService.getDemandsByStatus(status, filter, cursor, limit);
+            return ResponseEntity.ok(toPage(ListEndpoint.STATUS, demands, filter));
         } catch (DemandNotFound ex) {
             return new ResponseEntity<>(new ApiResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()), HttpStatus.NOT_FOUND);
         } catch (InvalidStatusException ex) {
@@ -163,7 +248,10 @@ public class DemandController {
     @PutMapping("/{demandId}/timer")
     public ResponseEntity<ApiResponse> updateDemandTimer(@PathVariable String demandId, @RequestBody TimerDTO timerDTO) {
         try {
-            demandService.updateDemandTimer(demandId, timerDTO.getStartTime(), timerDTO.getEndTime());
+            if (demandService.updateDemandTimer(demandId, timerDTO.getStartTime(), timerDTO.getEndTime())) {
+                // Buffered: written with the next flush, and dropped there if the demand does not exist
+                return new ResponseEntity<>(new ApiResponse(HttpStatus.ACCEPTED.value(), "Timer da demanda recebido."), HttpStatus.ACCEPTED);
+            }
             return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Timer da demanda atualizado com sucesso."), HttpStatus.OK);
         } catch (DemandNotFound ex) {
             return new ResponseEntity<>(new ApiResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()), HttpStatus.NOT_FOUND);
@@ -171,55 +259,252 @@ public class DemandController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllDemands(HttpServletRequest request) {
-        String token = request.getHeader("Authorization").substring(7); // Remove "Bearer "
-        String userId = jwtUtil.extractUserId(token);
-        String role = jwtUtil.extractRole(token);
-        String groupId = jwtUtil.extractGroupId(token);
-
-        List<DemandEntity> demands = demandService.getDemandsByUserAndSubordinates(userId, role, groupId);
-        List<DemandDTO> demandDTOs = demands.stream()
-                .map(this::convertToDTO)
+    public ResponseEntity<?> getAllDemands(HttpServletRequest request, DemandFilter filter,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "" + DemandService.DEFAULT_PAGE_SIZE) int limit,
+                                           WebRequest webRequest) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+
+        DemandVersion version = demandService.getVersionByUserAndSubordinates(
+                principal.getUserId(), principal.getRole(), principal.getGroupId(), filter);
+        if (notModified(webRequest, version, "all", principal.getUserId() + "/" + principal.getRole() + "/" + principal.getGroupId(),
+                filter, cursor, limit)) {
+            return null;
+        }
+        Slice<DemandEntity> demands = demandService.getDemandsByUserAndSubordinates(
+                principal.getUserId(), principal.getRole(), principal.getGroupId(), filter, cursor, limit);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(toPage(ListEndpoint.ALL, demands, filter));
+    }
+
+    // Ranked by text relevance; the cursor is the offset of the next page
+    @GetMapping("/search")
+    public ResponseEntity<?> searchDemands(HttpServletRequest request, @RequestParam("q") String text,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "" + DemandService.DEFAULT_PAGE_SIZE) int limit) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        if (text.isBlank()) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.BAD_REQUEST.value(), "O termo de busca é obrigatório."), HttpStatus.BAD_REQUEST);
+        }
+        int offset = searchOffset(cursor);
+        Slice<DemandEntity> demands = demandService.searchDemands(
+                principal.getUserId(), principal.getRole(), principal.getGroupId(), text, offset, limit);
+        demandMetrics.recordPage(ListEndpoint.SEARCH, demands.getNumberOfElements());
+        int nextOffset = offset + demands.getNumberOfElements();
+        String nextCursor = demands.hasNext() && nextOffset <= DemandService.MAX_SEARCH_OFFSET ? String.valueOf(nextOffset) : null;
+        List<DemandDTO> demandDTOs = demandMapper.toDTOView(demands.getContent());
+        return ResponseEntity.ok(new PageDTO<>(demandDTOs, demandDTOs.size(), nextCursor));
+    }
+
+    // Type-ahead: title word prefixes, in word order
+    @GetMapping("/search/suggest")
+    public ResponseEntity<?> suggestDemands(HttpServletRequest request, @RequestParam("q") String query,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        List<DemandEntity> demands = demandService.suggestDemands(
+                principal.getUserId(), principal.getRole(), principal.getGroupId(), query, limit);
+        return ResponseEntity.ok(demandMapper.toSuggestions(demands));
+    }
+
+    // Compact poll for live timers: only running demands, with the elapsed time computed on the server
+    @GetMapping("/active")
+    public ResponseEntity<?> getActiveDemands(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        List<ActiveTimerDTO> timers = demandMapper.toActiveTimers(demandService.getActiveDemands(principal.getUserId()));
+        return ResponseEntity.ok(timers);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<?> exportDemands(HttpServletRequest request, DemandFilter filter,
+                                           @RequestParam(defaultValue = "ndjson") String format) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.BAD_REQUEST.value(), "Formato de exportação inválido: " + format), HttpStatus.BAD_REQUEST);
+        }
+
+        // The Mongo cursor is opened and closed on the thread that writes the response body
+        StreamingResponseBody body = out -> {
+            try (Stream<DemandEntity> demands = demandService.streamDemandsByUserAndSubordinates(
+                    principal.getUserId(), principal.getRole(), principal.getGroupId(), filter)) {
+                demandExportService.write(demandMapper.toDTOs(demands), exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"demands." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamDemandEvents(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(demandEventHub.subscribe(principal));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> getTimeSummary(HttpServletRequest request,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+
+        String visibleGroup = DemandService.visibleGroup(principal.getRole(), principal.getGroupId());
+        List<DemandTimeRollupEntity> rollups = visibleGroup != null
+                ? demandTimeRollupService.getGroupSummary(visibleGroup, start, end)
+                : demandTimeRollupService.getUserSummary(principal.getUserId(), start, end);
+        List<TimeRollupDTO> rollupDTOs = rollups.stream()
+                .map(rollup -> new TimeRollupDTO(rollup.getGroupId(), rollup.getUserId(), rollup.getType(), rollup.getDay(), rollup.getSeconds()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(rollupDTOs);
+    }
+
+    @GetMapping("/summary/totals")
+    public ResponseEntity<?> getTimeTotals(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+        }
+        String visibleGroup = DemandService.visibleGroup(principal.getRole(), principal.getGroupId());
+        List<DemandTimeTotalEntity> totals = visibleGroup != null
+                ? demandTimeRollupService.getGroupTotals(visibleGroup)
+                : demandTimeRollupService.getUserTotals(principal.getUserId());
+        List<TimeTotalDTO> totalDTOs = totals.stream()
+                .map(total -> new TimeTotalDTO(total.getGroupId(), total.getUserId(), total.getType(), total.getSeconds()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(totalDTOs);
+    }
+
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<ApiResponse> rebuildTimeSummary(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null || !"ADMIN".equals(principal.getRole())) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.FORBIDDEN.value(), "Apenas administradores podem reconstruir o resumo."), HttpStatus.FORBIDDEN);
+        }
+        RollupRebuildDTO result = demandTimeRollupService.rebuild();
+        return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Resumo reconstruído com sucesso.", result), HttpStatus.OK);
+    }
+
+    @PostMapping("/reaper/run")
+    public ResponseEntity<ApiResponse> runReaper(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null || !"ADMIN".equals(principal.getRole())) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.FORBIDDEN.value(), "Apenas administradores podem executar o reaper."), HttpStatus.FORBIDDEN);
+        }
+        ReaperResultDTO result = demandReaperService.run();
+        if (!result.isLeaseAcquired()) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.CONFLICT.value(), "O reaper já está em execução em outro nó.", result), HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Reaper executado com sucesso.", result), HttpStatus.OK);
+    }
+
+    @PostMapping("/archive/run")
+    public ResponseEntity<ApiResponse> runArchive(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null || !"ADMIN".equals(principal.getRole())) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.FORBIDDEN.value(), "Apenas administradores podem executar o arquivamento."), HttpStatus.FORBIDDEN);
+        }
+        ArchiveResultDTO result = demandArchiveService.run();
+        if (!result.isLeaseAcquired()) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.CONFLICT.value(), "O arquivamento já está em execução em outro nó.", result), HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Arquivamento executado com sucesso.", result), HttpStatus.OK);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse> getCacheStats(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null || !"ADMIN".equals(principal.getRole())) {
+            return new ResponseEntity<>(new ApiResponse(HttpStatus.FORBIDDEN.value(), "Apenas administradores podem consultar o cache."), HttpStatus.FORBIDDEN);
+        }
+        Map<String, Long> sizes = demandCache.sizes();
+        List<CacheStatsDTO> stats = demandCache.stats().entrySet().stream()
+                .map(entry -> new CacheStatsDTO(entry.getKey(), sizes.get(entry.getKey()), entry.getValue().hitCount(),
+                        entry.getValue().missCount(), entry.getValue().hitRate(), entry.getValue().evictionCount()))
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(demandDTOs);
-    }
-
-    // Métodos de conversão entre DTO e Entidade
-    private DemandDTO convertToDTO(DemandEntity demand) {
-        return DemandDTO.builder()
-                .demandId(demand.getDemandId())
-                .userId(demand.getUserId())
-                .userIds(demand.getUserIds())
-                .title(demand.getTitle())
-                .description(demand.getDescription())
-                .status(demand.getStatus())
-                .startDate(demand.getStartDate())
-                .endDate(demand.getEndDate())
-                .type(demand.getType())
-                .startTime(demand.getStartTime())
-                .pauseTime(demand.getPauseTime())
-                .totalDuration(demand.getTotalDuration())
-                .autoStart(demand.isAutoStart())
-                .statusDate(demand.getStatusDate())
-                .build();
-    }
-
-    private DemandEntity convertToEntity(DemandDTO demandDTO) {
-        return DemandEntity.builder()
-                .demandId(demandDTO.getDemandId())
-                .userId(demandDTO.getUserId())
-                .userIds(demandDTO.getUserIds())
-                .title(demandDTO.getTitle())
-                .description(demandDTO.getDescription())
-                .status(demandDTO.getStatus())
-                .startDate(demandDTO.getStartDate())
-                .endDate(demandDTO.getEndDate())
-                .type(demandDTO.getType())
-                .startTime(demandDTO.getStartTime())
-                .pauseTime(demandDTO.getPauseTime())
-                .totalDuration(demandDTO.getTotalDuration())
-                .autoStart(demandDTO.isAutoStart())
-                .statusDate(demandDTO.getStatusDate())
-                .build();
+        return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), "Estatísticas do cache.", stats), HttpStatus.OK);
+    }
+
+    private String groupIdOf(HttpServletRequest request) {
+        JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        return principal != null ? principal.getGroupId() : null;
+    }
+
+    private ResponseEntity<ApiResponse> batchResponse(List<BatchItemResultDTO> results) {
+        long failed = results.stream().filter(result -> result.getStatus() >= 400).count();
+        String message = "Lote processado: " + (results.size() - failed) + " sucesso(s), " + failed + " falha(s).";
+        return new ResponseEntity<>(new ApiResponse(HttpStatus.OK.value(), message, results), HttpStatus.OK);
+    }
+
+    /**
+     * Answers If-None-Match / If-Modified-Since from the list version and sets ETag and Last-Modified; true
+     * means a 304 was written. The ETag is weak because elapsedSeconds of running demands keeps moving while
+     * the stored demands stay the same. Deletes only change the count, so they are seen through If-None-Match.
+     * JSON, CBOR and Smile are served from the same URL, so the response varies by Accept and the requested
+     * media types are part of the tag.
+     */
+    private static boolean notModified(WebRequest webRequest, DemandVersion version, String endpoint, String caller,
+                                       DemandFilter filter, String cursor, int limit) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (version.isEmpty()) {
+            return false;
+        }
+        DemandFilter f = filter != null ? filter : new DemandFilter();
+        String representation = String.join("|", endpoint, caller, String.valueOf(f.getStatus()), String.valueOf(f.getType()),
+                String.valueOf(f.getFrom()), String.valueOf(f.getTo()), String.valueOf(f.getHistory()), String.valueOf(f.getView()), String.valueOf(cursor), String.valueOf(limit),
+                String.valueOf(webRequest.getHeader(HttpHeaders.ACCEPT)));
+        return webRequest.checkNotModified(version.etag(representation), version.lastModifiedMillis());
+    }
+
+    private static int searchOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset >= 0 && offset <= DemandService.MAX_SEARCH_OFFSET) {
+                return offset;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below like any other malformed cursor
+        }
+        throw new InvalidCursorException("Cursor de paginação inválido.");
+    }
+
+    private PageDTO<?> toPage(ListEndpoint endpoint, Slice<DemandEntity> demands, DemandFilter filter) {
+        demandMetrics.recordPage(endpoint, demands.getNumberOfElements());
+        // Mapped element by element while the response is written, without a second list
+        List<?> content = filter != null && filter.getView() == DemandView.SUMMARY
+                ? demandMapper.toSummaryView(demands.getContent())
+                : demandMapper.toDTOView(demands.getContent());
+        String nextCursor = demands.hasNext()
+                ? DemandCursor.after(demands.getContent().get(demands.getNumberOfElements() - 1)).encode()
+                : null;
+        return new PageDTO<>(content, content.size(), nextCursor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.demands.controllers;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.exceptions.ApiResponse;
+import com.demands.mappers.DemandMapper;
+import com.demands.security.JwtPrincipal;
+import com.demands.services.ReactiveDemandService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the {@link DemandController} list and timer endpoints, enabled with the
+ * {@code reactive} profile (e.g. {@code --spring.profiles.active=dev,reactive}).
+ *
+ * <p>Lists are unpaged and streamed as NDJSON: each demand is written as soon as the Mongo cursor yields it and
+ * the next one is requested only after the write, so a slow client throttles the query instead of buffering it.
+ * The list handlers declare {@code ResponseEntity<Flux<DemandDTO>>} rather than a wildcard: Spring MVC only
+ * adapts the body to a stream when the declared body type is reactive, and the 401 has no body because the
+ * NDJSON converter cannot write an {@link ApiResponse}. Only annotations shared with WebFlux are used, so the
+ * controller runs unchanged on a Netty server once the servlet-only security filter has a WebFilter counterpart.
+ */
+@RestController
+@RequestMapping("/reactive/demands")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveDemandController {
+
+    private final ReactiveDemandService demandService;
+    private final DemandMapper demandMapper;
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse>> createDemand(@RequestAttribute(name = JwtPrincipal.REQUEST_ATTRIBUTE, required = false) JwtPrincipal principal,
+                                                         @Valid @RequestBody DemandDTO demandDTO) {
+        if (principal == null) {
+            return Mono.just(unauthorized());
+        }
+        demandDTO.setUserId(principal.getUserId());
+        DemandEntity demand = demandMapper.toEntity(demandDTO);
+        demand.setGroupId(principal.getGroupId());
+        return demandService.createDemand(demand)
+                .map(created -> ResponseEntity.ok(new ApiResponse(HttpStatus.OK.value(), "Demanda criada com sucesso.", demandMapper.toDTO(created))));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<DemandDTO>> getUserDemands(@RequestAttribute(name = JwtPrincipal.REQUEST_ATTRIBUTE, required = false) JwtPrincipal principal,
+                                                          DemandFilter filter) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(toDTOs(demandService.getDemandsByUserId(principal.getUserId(), filter)));
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<DemandDTO>> getAllDemands(@RequestAttribute(name = JwtPrincipal.REQUEST_ATTRIBUTE, required = false) JwtPrincipal principal,
+                                                         DemandFilter filter) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(toDTOs(demandService.getDemandsByUserAndSubordinates(
+                principal.getUserId(), principal.getRole(), principal.getGroupId(), filter)));
+    }
+
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DemandDTO> getDemandsByAnyUserId(@PathVariable String userId, DemandFilter filter) {
+        return toDTOs(demandService.getDemandsByAnyUserId(userId, filter));
+    }
+
+    // The template variable is not named "status" so it does not bind into DemandFilter.status
+    @GetMapping(value = "/status/{statusName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DemandDTO> getDemandsByStatus(@PathVariable("statusName") String status, DemandFilter filter) {
+        return toDTOs(demandService.getDemandsByStatus(status, filter));
+    }
+
+    @PutMapping("/{demandId}/start")
+    public Mono<ResponseEntity<ApiResponse>> startDemand(@PathVariable String demandId) {
+        return demandService.startDemand(demandId).then(ok("Demanda iniciada com sucesso."));
+    }
+
+    @PutMapping("/{demandId}/pause")
+    public Mono<ResponseEntity<ApiResponse>> pauseDemand(@PathVariable String demandId) {
+        return demandService.pauseDemand(demandId).then(ok("Demanda pausada com sucesso."));
+    }
+
+    @PutMapping("/{demandId}/continue")
+    public Mono<ResponseEntity<ApiResponse>> continueDemand(@PathVariable String demandId) {
+        return demandService.continueDemand(demandId).then(ok("Demanda continuada com sucesso."));
+    }
+
+    @PutMapping("/{demandId}/close")
+    public Mono<ResponseEntity<ApiResponse>> closeDemand(@PathVariable String demandId) {
+        return demandService.closeDemand(demandId).then(ok("Demanda encerrada com sucesso."));
+    }
+
+    private Flux<DemandDTO> toDTOs(Flux<DemandEntity> demands) {
+        return demands.map(demandMapper::toDTO);
+    }
+
+    private Mono<ResponseEntity<ApiResponse>> ok(String message) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(new ApiResponse(HttpStatus.OK.value(), message)));
+    }
+
+    private ResponseEntity<ApiResponse> unauthorized() {
+        return new ResponseEntity<>(new ApiResponse(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente."), HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,17 @@
+package com.demands.dtos;
+
+import lombok.*;
+
+/**
+ * One running timer in the {@code /demands/active} poll: clients add their own clock ticks to
+ * {@code elapsedSeconds} until the next poll.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveTimerDTO {
+    private String demandId;
+    private long elapsedSeconds;
+}
@@ -0,0 +1,19 @@
+package com.demands.dtos;
+
+import lombok.*;
+
+/**
+ * Result of one archival run: whether this node held the lease, how many batches it moved and how many closed
+ * demands left the hot collection.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveResultDTO {
+    private boolean leaseAcquired;
+    private int batches;
+    private long archived;
+    private long elapsedMillis;
+}
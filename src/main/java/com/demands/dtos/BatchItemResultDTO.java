@@ -0,0 +1,21 @@
+package com.demands.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Outcome of one item of a batch request; {@code index} is the item's position in the request body
+ * and {@code status} the HTTP status it would have received on its own.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO {
+    private int index;
+    private String demandId;
+    private int status;
+    private String message;
+}
@@ -28,6 +28,7 @@ public class DemandDTO implements Serializable {
     private LocalDateTime startTime;
     private LocalDateTime pauseTime;
     private long totalDuration; // in seconds
+    private long elapsedSeconds; // totalDuration plus the running interval, computed when the response is built
     private boolean autoStart;
     private LocalDateTime statusDate;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.events.DemandEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delta pushed to change-feed subscribers: only the fields a live timer needs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DemandEventDTO {
+    private DemandEventType type;
+    private String demandId;
+    private DemandStatus status;
+    private LocalDateTime startTime;
+    private LocalDateTime pauseTime;
+    private Long totalDuration;
+    private LocalDateTime statusDate;
+}
@@ -0,0 +1,30 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandType;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional list filters bound from the query string; every non-null field is pushed down into the Mongo query.
+ * {@code from}/{@code to} bound {@code statusDate} (inclusive / exclusive). {@code history=true}, or
+ * {@code status=CLOSED}, also lists closed demands that were moved to the archive. {@code view} is not a filter:
+ * it picks the fields read for each demand.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandFilter {
+    private DemandStatus status;
+    private DemandType type;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    private Boolean history;
+    private DemandView view;
+}
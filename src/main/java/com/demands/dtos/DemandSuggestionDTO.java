@@ -0,0 +1,18 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandStatus;
+import lombok.*;
+
+/**
+ * One type-ahead entry: just enough to render the suggestion and open the demand.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandSuggestionDTO {
+    private String demandId;
+    private String title;
+    private DemandStatus status;
+}
@@ -0,0 +1,27 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a list requested with {@code view=SUMMARY}: no description, participants or schedule strings.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandSummaryDTO {
+    private String demandId;
+    private String userId;
+    private String title;
+    private DemandStatus status;
+    private DemandType type;
+    private LocalDateTime startTime;
+    private long totalDuration; // in seconds
+    private long elapsedSeconds; // totalDuration plus the running interval, computed when the response is built
+    private LocalDateTime statusDate;
+}
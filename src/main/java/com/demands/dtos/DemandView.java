@@ -0,0 +1,10 @@
+package com.demands.dtos;
+
+/**
+ * Shape of the demands in a list response. {@code SUMMARY} reads only the fields a list row shows, through a
+ * Mongo projection; the full demand is then loaded by {@code GET /demands/{demandId}}.
+ */
+public enum DemandView {
+    FULL,
+    SUMMARY
+}
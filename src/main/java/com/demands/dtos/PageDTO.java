@@ -0,0 +1,17 @@
+package com.demands.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is opaque and null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class PageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.demands.dtos;
+
+import lombok.*;
+
+/**
+ * Result of one reaper run: whether this node held the lease, how many batches it wrote and how many idle
+ * demands were paused or closed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReaperResultDTO {
+    private boolean leaseAcquired;
+    private int batches;
+    private long reaped;
+    private long elapsedMillis;
+}
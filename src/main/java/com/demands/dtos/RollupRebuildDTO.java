@@ -0,0 +1,18 @@
+package com.demands.dtos;
+
+import lombok.*;
+
+/**
+ * Result of a rollup rebuild: how many (groupId, userId, type) totals were written and how far the per-day
+ * rollups had drifted from them, summed over all days.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupRebuildDTO {
+    private int totals;
+    private int driftedKeys;
+    private long driftSeconds;
+}
@@ -0,0 +1,17 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandType;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeRollupDTO {
+    private String groupId;
+    private String userId;
+    private DemandType type;
+    private String day;
+    private long seconds;
+}
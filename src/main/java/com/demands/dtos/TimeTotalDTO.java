@@ -0,0 +1,16 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandType;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeTotalDTO {
+    private String groupId;
+    private String userId;
+    private DemandType type;
+    private long seconds;
+}
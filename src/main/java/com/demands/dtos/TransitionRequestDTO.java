@@ -0,0 +1,14 @@
+package com.demands.dtos;
+
+import com.demands.infraestructure.entity.DemandTransition;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransitionRequestDTO {
+    private String demandId;
+    private DemandTransition action;
+}
@@ -0,0 +1,154 @@
+package com.demands.infraestructure.cache;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.events.DemandChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for single demands and per-user list pages. Entries are evicted by size and TTL
+ * and, precisely, whenever a demand changes: the demand itself and every page of each user it belongs to.
+ * Evictions are broadcast on the {@link DemandCacheBus}; in {@code near} mode that keeps other nodes coherent.
+ * Cached entities are shared between requests and must not be modified by callers.
+ */
+@Component
+public class DemandCache {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final DemandCacheBus bus;
+    private final boolean changeStreamEvents;
+    private final Cache<String, DemandEntity> demands;
+    private final Cache<DemandPageKey, Slice<DemandEntity>> pages;
+
+    public DemandCache(DemandCacheBus bus,
+                       @Value("${demands.cache.demands.max-size:10000}") long demandsMaxSize,
+                       @Value("${demands.cache.pages.max-size:2000}") long pagesMaxSize,
+                       @Value("${demands.cache.ttl:PT1M}") Duration ttl,
+                       @Value("${demands.events.source:local}") String eventSource) {
+        this.bus = bus;
+        this.changeStreamEvents = "change-stream".equalsIgnoreCase(eventSource);
+        this.demands = Caffeine.newBuilder()
+                .maximumSize(demandsMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pagesMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        bus.subscribe(this::onInvalidation);
+    }
+
+    public DemandEntity getDemand(String demandId, Supplier<DemandEntity> loader) {
+        return demands.get(demandId, id -> loader.get());
+    }
+
+    public Slice<DemandEntity> getPage(DemandPageKey key, Supplier<Slice<DemandEntity>> loader) {
+        return pages.get(key, k -> loader.get());
+    }
+
+    /** Evicts the demand and its users' pages on this node and on every node listening to the bus. */
+    public void evict(DemandEntity demand) {
+        evict(List.of(demand));
+    }
+
+    /** Batch form of {@link #evict(DemandEntity)}: one pass over the pages and one message for all demands. */
+    public void evict(Collection<DemandEntity> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<String> demandIds = new LinkedHashSet<>();
+        Set<String> users = new LinkedHashSet<>();
+        for (DemandEntity demand : changed) {
+            demandIds.add(demand.getDemandId());
+            addUsers(demand, users);
+        }
+        evictLocally(demandIds, users);
+        bus.publish(new DemandCacheInvalidation(nodeId, demandIds, users, false));
+    }
+
+    public void evictAll() {
+        clearLocally();
+        bus.publish(new DemandCacheInvalidation(nodeId, Set.of(), Set.of(), true));
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("demands", demands.stats());
+        stats.put("pages", pages.stats());
+        return stats;
+    }
+
+    public Map<String, Cache<?, ?>> caches() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("demands", demands);
+        caches.put("pages", pages);
+        return caches;
+    }
+
+    public Map<String, Long> sizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("demands", demands.estimatedSize());
+        sizes.put("pages", pages.estimatedSize());
+        return sizes;
+    }
+
+    // Change stream events also carry other nodes' writes; local events were already evicted by the publisher
+    @EventListener
+    public void onDemandChanged(DemandChangedEvent event) {
+        DemandEntity demand = event.getDemand();
+        if (changeStreamEvents && demand != null) {
+            Set<String> users = new LinkedHashSet<>();
+            addUsers(demand, users);
+            evictLocally(Set.of(demand.getDemandId()), users);
+        }
+    }
+
+    private void onInvalidation(DemandCacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            clearLocally();
+        } else {
+            evictLocally(invalidation.getDemandIds(), invalidation.getUserIds());
+        }
+    }
+
+    private void evictLocally(Set<String> demandIds, Set<String> users) {
+        demands.invalidateAll(demandIds);
+        if (!users.isEmpty()) {
+            pages.asMap().keySet().removeIf(key -> users.contains(key.getUserId()));
+        }
+    }
+
+    private void clearLocally() {
+        demands.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    private static void addUsers(DemandEntity demand, Set<String> users) {
+        if (demand.getUserId() != null) {
+            users.add(demand.getUserId());
+        }
+        if (demand.getUserIds() != null) {
+            users.addAll(demand.getUserIds());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.demands.infraestructure.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub channel that keeps the {@link DemandCache} of every node coherent in {@code near} mode.
+ * Subscribers also receive their own messages and must skip them by origin.
+ */
+public interface DemandCacheBus {
+
+    void publish(DemandCacheInvalidation invalidation);
+
+    void subscribe(Consumer<DemandCacheInvalidation> subscriber);
+}
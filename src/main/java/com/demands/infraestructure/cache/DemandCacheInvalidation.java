@@ -0,0 +1,18 @@
+package com.demands.infraestructure.cache;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Eviction broadcast between near caches: the demands that changed and every user whose lists may contain
+ * them. {@code all} evicts everything, e.g. after a bulk delete.
+ */
+@Value
+public class DemandCacheInvalidation {
+
+    String origin;
+    Set<String> demandIds;
+    Set<String> userIds;
+    boolean all;
+}
@@ -0,0 +1,39 @@
+package com.demands.infraestructure.cache;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.dtos.DemandView;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandType;
+import com.demands.infraestructure.repositories.DemandVersion;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identifies one cached page of a per-user list: which finder, whose list, every request parameter that
+ * shapes the page, and the {@link DemandVersion} of the list the caller validated against. {@code userId} is
+ * what invalidation matches on. With the version in the key, a page loaded before a write that this node never
+ * saw evicted is simply not found once the list version moves, so the body always matches the ETag sent with it.
+ */
+@Value
+public class DemandPageKey {
+
+    String finder;
+    String userId;
+    DemandStatus status;
+    DemandType type;
+    LocalDateTime from;
+    LocalDateTime to;
+    Boolean history;
+    DemandView view;
+    String cursor;
+    int limit;
+    DemandVersion version;
+
+    public static DemandPageKey of(String finder, String userId, DemandFilter filter, String cursor, int limit,
+                                   DemandVersion version) {
+        DemandFilter f = filter != null ? filter : new DemandFilter();
+        return new DemandPageKey(finder, userId, f.getStatus(), f.getType(), f.getFrom(), f.getTo(), f.getHistory(), f.getView(),
+                cursor, limit, version);
+    }
+}
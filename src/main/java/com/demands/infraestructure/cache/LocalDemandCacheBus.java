@@ -0,0 +1,29 @@
+package com.demands.infraestructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for single-node deployments ({@code demands.cache.mode=local}) and tests, where several
+ * caches sharing one instance stand in for several nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "demands.cache.mode", havingValue = "local", matchIfMissing = true)
+public class LocalDemandCacheBus implements DemandCacheBus {
+
+    private final List<Consumer<DemandCacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(DemandCacheInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<DemandCacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
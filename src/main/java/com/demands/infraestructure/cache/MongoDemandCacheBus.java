@@ -0,0 +1,94 @@
+package com.demands.infraestructure.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.TailableCursorRequest;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node bus for {@code demands.cache.mode=near}: invalidations are appended to a small capped collection
+ * and every node follows it with a tailable cursor, so no broker is needed beyond the database itself.
+ */
+@Component
+@ConditionalOnProperty(name = "demands.cache.mode", havingValue = "near")
+@RequiredArgsConstructor
+@Slf4j
+public class MongoDemandCacheBus implements DemandCacheBus {
+
+    static final String COLLECTION = "demand_cache_invalidations";
+    private static final long CAPPED_SIZE_BYTES = 1024 * 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final List<Consumer<DemandCacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private MessageListenerContainer container;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty().capped().size(CAPPED_SIZE_BYTES));
+        }
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        // Only follow messages written from now on; older ones concern entries this node never cached
+        TailableCursorRequest<Document> request = TailableCursorRequest.builder(this::onMessage)
+                .collection(COLLECTION)
+                .filter(new Query(Criteria.where("at").gte(new Date())))
+                .build();
+        container.register(request, Document.class);
+        container.start();
+        log.info("Following demand cache invalidations");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Override
+    public void publish(DemandCacheInvalidation invalidation) {
+        Document message = new Document("origin", invalidation.getOrigin())
+                .append("demandIds", new ArrayList<>(invalidation.getDemandIds()))
+                .append("userIds", new ArrayList<>(invalidation.getUserIds()))
+                .append("all", invalidation.isAll())
+                .append("at", new Date());
+        mongoTemplate.getCollection(COLLECTION).insertOne(message);
+    }
+
+    @Override
+    public void subscribe(Consumer<DemandCacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void onMessage(Message<Document, Document> message) {
+        Document body = message.getBody();
+        if (body == null) {
+            return;
+        }
+        DemandCacheInvalidation invalidation = new DemandCacheInvalidation(
+                body.getString("origin"),
+                new LinkedHashSet<>(body.getList("demandIds", String.class, List.of())),
+                new LinkedHashSet<>(body.getList("userIds", String.class, List.of())),
+                body.getBoolean("all", false));
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+}
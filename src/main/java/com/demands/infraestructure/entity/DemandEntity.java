@@ -5,17 +5,33 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Document(collection = "demand_entity")
+@Document(collection = "demand_entity", language = "portuguese")
+// Every index ends in (statusDate, _id) so keyset pages are read in index order without an in-memory sort
+@CompoundIndex(name = "userId_statusDate", def = "{'userId': 1, 'statusDate': -1, '_id': -1}")
+@CompoundIndex(name = "userIds_statusDate", def = "{'userIds': 1, 'statusDate': -1, '_id': -1}")
+@CompoundIndex(name = "status_statusDate", def = "{'status': 1, 'statusDate': -1, '_id': -1}")
+// The group view: groupId is stamped on every demand when it is created, so a group's demands are one index range
+@CompoundIndex(name = "groupId_statusDate", def = "{'groupId': 1, 'statusDate': -1, '_id': -1}")
+// Partial indexes holding only running demands, for the /demands/active poll
+@CompoundIndex(name = "active_userId", def = "{'userId': 1}", partialFilter = "{'status': 'IN_PROGRESS'}")
+@CompoundIndex(name = "active_userIds", def = "{'userIds': 1}", partialFilter = "{'status': 'IN_PROGRESS'}")
+// Running demands by start time, for the idle-timer reaper
+@CompoundIndex(name = "active_startTime", def = "{'startTime': 1}", partialFilter = "{'status': 'IN_PROGRESS'}")
+// Type-ahead: a prefix range of title words inside one owner or group
+@CompoundIndex(name = "search_userId", def = "{'userId': 1, 'searchTerms': 1}")
+@CompoundIndex(name = "search_groupId", def = "{'groupId': 1, 'searchTerms': 1}")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class DemandEntity {
 
     @Id
@@ -23,8 +39,10 @@ public class DemandEntity {
     @NotBlank(message = "O campo userId é obrigatório.")
     private String userId; // Usuário principal
     private List<String> userIds; // Lista de IDs de usuários adicionais
+    @TextIndexed(weight = 3)
     private String title;
     @NotNull(message = "O campo description é obrigatório.")
+    @TextIndexed
     private String description;
     private DemandStatus status;
     private String startDate;
@@ -38,6 +56,8 @@ public class DemandEntity {
     private String groupId; // Add this field
     @LastModifiedDate
     private LocalDateTime statusDate;
+    private List<String> searchTerms; // Normalized title words for prefix search, see DemandSearchTerms
+    private String batchId; // Last bulk transition that wrote the demand, see DemandBulkRepository#transitionAll
 
 
     //ADD NEW FIELD FOR MULTIPLE USERS
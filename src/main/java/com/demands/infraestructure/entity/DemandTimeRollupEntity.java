@@ -0,0 +1,30 @@
+package com.demands.infraestructure.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Tracked seconds per (groupId, userId, type, day), incremented whenever a demand's duration changes.
+ * {@code day} is the ISO date (yyyy-MM-dd, server time zone) on which the time was recorded.
+ */
+@Document(collection = "demand_time_rollup")
+@CompoundIndex(name = "bucket", def = "{'groupId': 1, 'userId': 1, 'type': 1, 'day': 1}", unique = true)
+@CompoundIndex(name = "groupId_day", def = "{'groupId': 1, 'day': 1}")
+@CompoundIndex(name = "userId_day", def = "{'userId': 1, 'day': 1}")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandTimeRollupEntity {
+
+    @Id
+    private String rollupId;
+    private String groupId;
+    private String userId;
+    private DemandType type;
+    private String day;
+    private long seconds;
+}
@@ -0,0 +1,28 @@
+package com.demands.infraestructure.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Lifetime tracked seconds per (groupId, userId, type), recomputed from the demands by the rollup rebuild.
+ * Unlike {@link DemandTimeRollupEntity} it has no day: demands only carry their total, not when it was tracked.
+ */
+@Document(collection = "demand_time_total")
+@CompoundIndex(name = "groupId", def = "{'groupId': 1}")
+@CompoundIndex(name = "userId", def = "{'userId': 1}")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandTimeTotalEntity {
+
+    @Id
+    private String totalId;
+    private String groupId;
+    private String userId;
+    private DemandType type;
+    private long seconds;
+}
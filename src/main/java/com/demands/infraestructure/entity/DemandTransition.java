@@ -0,0 +1,15 @@
+package com.demands.infraestructure.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum DemandTransition {
+    START(DemandStatus.IN_PROGRESS),
+    PAUSE(DemandStatus.PAUSED),
+    CONTINUE(DemandStatus.IN_PROGRESS),
+    CLOSE(DemandStatus.CLOSED);
+
+    private final DemandStatus target;
+}
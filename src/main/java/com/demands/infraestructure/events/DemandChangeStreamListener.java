@@ -0,0 +1,99 @@
+package com.demands.infraestructure.events;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the application event bus from a MongoDB change stream on {@code demand_entity}, so every node sees
+ * changes made by every other node. Requires a replica set; enabled with
+ * {@code demands.events.source=change-stream}. Delete events are scoped through the pre-image, which is only
+ * available when the collection has {@code changeStreamPreAndPostImages} enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "demands.events.source", havingValue = "change-stream")
+@RequiredArgsConstructor
+@Slf4j
+public class DemandChangeStreamListener {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private MessageListenerContainer container;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder(this::onMessage)
+                .collection(mongoTemplate.getCollectionName(DemandEntity.class))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .build();
+        container.register(request, Document.class);
+        container.start();
+        log.info("Listening to demand change stream");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null) {
+            return;
+        }
+        OperationType operation = change.getOperationType();
+        Document state = operation == OperationType.DELETE ? change.getFullDocumentBeforeChange() : change.getFullDocument();
+        if (state == null) {
+            log.debug("Skipping {} change without document state", operation);
+            return;
+        }
+        DemandEntity demand = mongoTemplate.getConverter().read(DemandEntity.class, state);
+        DemandEventType type = switch (operation) {
+            case INSERT -> DemandEventType.CREATED;
+            case DELETE -> DemandEventType.DELETED;
+            case UPDATE -> statusChanged(change) ? typeForStatus(demand.getStatus()) : DemandEventType.UPDATED;
+            default -> DemandEventType.UPDATED;
+        };
+        applicationEventPublisher.publishEvent(DemandChangedEvent.of(type, demand));
+    }
+
+    private static boolean statusChanged(ChangeStreamDocument<Document> change) {
+        return change.getUpdateDescription() != null
+                && change.getUpdateDescription().getUpdatedFields() != null
+                && change.getUpdateDescription().getUpdatedFields().containsKey("status");
+    }
+
+    // A change stream cannot tell a start from a continue; both surface as STARTED
+    private static DemandEventType typeForStatus(DemandStatus status) {
+        if (status == null) {
+            return DemandEventType.UPDATED;
+        }
+        return switch (status) {
+            case IN_PROGRESS -> DemandEventType.STARTED;
+            case PAUSED -> DemandEventType.PAUSED;
+            case CLOSED -> DemandEventType.CLOSED;
+            case OPEN -> DemandEventType.UPDATED;
+        };
+    }
+}
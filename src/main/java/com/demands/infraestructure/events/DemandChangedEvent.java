@@ -0,0 +1,26 @@
+package com.demands.infraestructure.events;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A demand's state right after a change, published on the application event bus. Carries the owner fields
+ * used to scope delivery alongside the state sent to subscribers.
+ */
+@Getter
+@AllArgsConstructor
+public class DemandChangedEvent {
+
+    private final DemandEventType type;
+    private final DemandEntity demand;
+
+    public static DemandChangedEvent of(DemandEventType type, DemandEntity demand) {
+        return new DemandChangedEvent(type, demand);
+    }
+
+    /** Every demand was deleted at once; sent to every subscriber. */
+    public static DemandChangedEvent cleared() {
+        return new DemandChangedEvent(DemandEventType.CLEARED, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.demands.infraestructure.events;
+
+public enum DemandEventType {
+    CREATED,
+    STARTED,
+    PAUSED,
+    CONTINUED,
+    CLOSED,
+    UPDATED,
+    DELETED,
+    // Every demand was deleted; carries no demand
+    CLEARED
+}
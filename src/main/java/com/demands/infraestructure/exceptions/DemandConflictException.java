@@ -0,0 +1,7 @@
+package com.demands.infraestructure.exceptions;
+
+public class DemandConflictException extends RuntimeException {
+    public DemandConflictException(String message) {
+        super(message);
+    }
+}
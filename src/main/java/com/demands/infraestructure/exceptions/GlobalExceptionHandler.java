@@ -19,4 +19,22 @@ public class GlobalExceptionHandler {
         ApiResponse response = new ApiResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        ApiResponse response = new ApiResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DemandConflictException.class)
+    public ResponseEntity<ApiResponse> handleDemandConflictException(DemandConflictException ex) {
+        ApiResponse response = new ApiResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidBatchException.class)
+    public ResponseEntity<ApiResponse> handleInvalidBatchException(InvalidBatchException ex) {
+        ApiResponse response = new ApiResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
 }
\ No newline at end of file
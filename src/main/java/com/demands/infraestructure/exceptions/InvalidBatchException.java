@@ -0,0 +1,7 @@
+package com.demands.infraestructure.exceptions;
+
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
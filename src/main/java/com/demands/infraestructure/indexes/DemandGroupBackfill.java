@@ -0,0 +1,43 @@
+package com.demands.infraestructure.indexes;
+
+import com.demands.infraestructure.repositories.DemandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code groupId} on demands created before the creator's group was stored, so the manager view, which
+ * reads only the {@code groupId_statusDate} range, lists them. The group is taken from the owner's latest
+ * grouped demand; owners who have not written since are picked up on a later start. Once every owner is
+ * resolved this is a single empty index lookup. {@code demands.groups.backfill=false} turns it off.
+ */
+@Component
+@Order(3)
+@Slf4j
+public class DemandGroupBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DemandRepository demandRepository;
+    private final boolean enabled;
+
+    public DemandGroupBackfill(DemandRepository demandRepository,
+                               @Value("${demands.groups.backfill:true}") boolean enabled) {
+        this.demandRepository = demandRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long updated = demandRepository.backfillGroupIds(BATCH_SIZE);
+        if (updated > 0) {
+            log.info("Backfilled groupId on {} demands", updated);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.demands.infraestructure.indexes;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import com.demands.infraestructure.entity.DemandTimeTotalEntity;
+import com.demands.infraestructure.repositories.DemandArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the indexes declared on the demand collections at startup, independently of
+ * {@code spring.data.mongodb.auto-index-creation}. ensureIndex is a no-op for indexes that already exist;
+ * indexes a newer one has replaced are dropped so writes stop paying for them.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class DemandIndexInitializer implements ApplicationRunner {
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(DemandEntity.class, DemandTimeRollupEntity.class, DemandTimeTotalEntity.class);
+    // Replaced by groupId_statusDate, which serves the group view without a per-member range
+    private static final List<String> SUPERSEDED_DEMAND_INDEXES = List.of("groupId_userId_statusDate");
+    // The archive only serves history lists, so it carries the keyset list indexes and nothing else
+    private static final Set<String> ARCHIVE_INDEXES = Set.of(
+            "userId_statusDate", "userIds_statusDate", "status_statusDate", "groupId_statusDate");
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(index -> {
+                String name = indexOps.ensureIndex(index);
+                log.info("Ensured index {} on {}", name, mongoTemplate.getCollectionName(entity));
+            });
+        }
+
+        IndexOperations demandIndexes = mongoTemplate.indexOps(DemandEntity.class);
+        demandIndexes.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(SUPERSEDED_DEMAND_INDEXES::contains)
+                .forEach(name -> {
+                    demandIndexes.dropIndex(name);
+                    log.info("Dropped superseded index {} on {}", name, mongoTemplate.getCollectionName(DemandEntity.class));
+                });
+
+        IndexOperations archiveIndexes = mongoTemplate.indexOps(DemandArchiveRepository.COLLECTION);
+        resolver.resolveIndexFor(DemandEntity.class).forEach(index -> {
+            if (ARCHIVE_INDEXES.contains(index.getIndexOptions().getString("name"))) {
+                String name = archiveIndexes.ensureIndex(index);
+                log.info("Ensured index {} on {}", name, DemandArchiveRepository.COLLECTION);
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.demands.infraestructure.indexes;
+
+import com.demands.infraestructure.repositories.DemandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the type-ahead {@code searchTerms} of demands created before the field existed. Demands that already
+ * have it are skipped, so after the first run this is a single empty query.
+ * {@code demands.search.backfill=false} turns it off.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class DemandSearchTermsBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DemandRepository demandRepository;
+    private final boolean enabled;
+
+    public DemandSearchTermsBackfill(DemandRepository demandRepository,
+                                     @Value("${demands.search.backfill:true}") boolean enabled) {
+        this.demandRepository = demandRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long updated = demandRepository.backfillSearchTerms(BATCH_SIZE);
+        if (updated > 0) {
+            log.info("Backfilled search terms on {} demands", updated);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.demands.infraestructure.indexes;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.repositories.DemandArchiveRepositoryImpl;
+import com.demands.infraestructure.repositories.DemandCursor;
+import com.demands.infraestructure.repositories.DemandRepositoryImpl;
+import com.mongodb.ExplainVerbosity;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs explain() on the query of every DemandRepository finder after the indexes are ensured and reports
+ * finders whose winning plan is a COLLSCAN. The custom finders are executed against a {@link QueryCapture} so
+ * the queries explained are the ones they really build. {@code demands.mongo.query-plan-check} selects
+ * {@code off}, {@code warn} (default) or {@code fail}, which aborts startup.
+ */
+@Component
+@Order(1)
+@Slf4j
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private static final String SAMPLE_USER = "query-plan-check";
+    private static final String SAMPLE_GROUP = "query-plan-check";
+    private static final int SAMPLE_LIMIT = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final Mode mode;
+
+    public QueryPlanVerifier(MongoTemplate mongoTemplate,
+                             @Value("${demands.mongo.query-plan-check:warn}") String mode) {
+        this.mongoTemplate = mongoTemplate;
+        this.mode = Mode.valueOf(mode.toUpperCase());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        List<String> collectionScans = new ArrayList<>();
+        queryShapes(mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter()).forEach((finder, shape) -> {
+            Document explain = mongoTemplate.getCollection(shape.collection())
+                    .find(shape.filter())
+                    .sort(shape.sort())
+                    .limit(shape.limit())
+                    .explain(ExplainVerbosity.QUERY_PLANNER);
+            if (usesCollectionScan(explain)) {
+                collectionScans.add(finder);
+            }
+        });
+
+        if (collectionScans.isEmpty()) {
+            log.info("Query plan check passed: every demand finder is index-backed");
+        } else if (mode == Mode.FAIL) {
+            throw new IllegalStateException("Finders falling back to COLLSCAN: " + collectionScans);
+        } else {
+            log.warn("Finders falling back to COLLSCAN: {}", collectionScans);
+        }
+    }
+
+    /**
+     * The queries each finder sends, mapped to stored field names. A finder reading a second collection gets a
+     * second entry suffixed with that collection's name.
+     */
+    static Map<String, Shape> queryShapes(MongoDatabaseFactory factory, MongoConverter converter) {
+        QueryCapture capture = new QueryCapture(factory, converter);
+        DemandRepositoryImpl demands = new DemandRepositoryImpl(capture);
+        DemandArchiveRepositoryImpl archive = new DemandArchiveRepositoryImpl(capture);
+        // Next pages carry the keyset clause, so they are the shape to check; the first page is a subset of it
+        DemandCursor cursor = new DemandCursor(LocalDateTime.now(), SAMPLE_USER);
+
+        Map<String, Shape> shapes = new LinkedHashMap<>();
+        // Derived finders: Spring Data builds these from the method name alone, so their shape cannot drift
+        shapes.put("findByUserId", capture.shape(new Query(Criteria.where("userId").is(SAMPLE_USER)), converter));
+        shapes.put("findByStatus", capture.shape(new Query(Criteria.where("status").is(DemandStatus.IN_PROGRESS)), converter));
+        shapes.put("findByUserIdOrUserIdsContaining", capture.shape(new Query(new Criteria().orOperator(
+                Criteria.where("userId").is(SAMPLE_USER),
+                Criteria.where("userIds").is(SAMPLE_USER))), converter));
+
+        capture.record(shapes, "findPageByUserId", () -> demands.findPageByUserId(SAMPLE_USER, null, cursor, SAMPLE_LIMIT));
+        capture.record(shapes, "findPageByStatus", () -> demands.findPageByStatus(DemandStatus.CLOSED, null, cursor, SAMPLE_LIMIT));
+        capture.record(shapes, "findPageByUserIdOrUserIdsContaining",
+                () -> demands.findPageByUserIdOrUserIdsContaining(SAMPLE_USER, null, cursor, SAMPLE_LIMIT));
+        capture.record(shapes, "findPageByGroupId", () -> demands.findPageByGroupId(SAMPLE_GROUP, null, cursor, SAMPLE_LIMIT));
+        capture.record(shapes, "streamByUserId", () -> demands.streamByUserId(SAMPLE_USER, null));
+        capture.record(shapes, "streamByGroupId", () -> demands.streamByGroupId(SAMPLE_GROUP, null));
+        capture.record(shapes, "findActiveByUserId", () -> demands.findActiveByUserId(SAMPLE_USER));
+        capture.record(shapes, "findRunningStartedBefore", () -> demands.findRunningStartedBefore(LocalDateTime.now(), SAMPLE_LIMIT));
+        capture.record(shapes, "findClosedBefore", () -> archive.findClosedBefore(LocalDateTime.now(), SAMPLE_LIMIT));
+        capture.record(shapes, "searchText", () -> demands.searchText("relatorio", SAMPLE_USER, null, 0, SAMPLE_LIMIT));
+        capture.record(shapes, "suggestByTitlePrefix", () -> demands.suggestByTitlePrefix("rel", SAMPLE_USER, null, 10));
+        return shapes;
+    }
+
+    static boolean usesCollectionScan(Document explain) {
+        Object queryPlanner = explain.get("queryPlanner");
+        return queryPlanner instanceof Document planner && containsStage(planner.get("winningPlan"), "COLLSCAN");
+    }
+
+    // Plans nest through inputStage, inputStages and, on the slot-based engine, queryPlan
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    /** A finder query as Mongo receives it: stored field names, enum names, {@code _id} for demandId. */
+    record Shape(String collection, Document filter, Document sort, int limit) {
+    }
+
+    /**
+     * A MongoTemplate whose finds and streams record their query and return nothing, so a repository fragment
+     * built on it only reports what it would have sent.
+     */
+    static class QueryCapture extends MongoTemplate {
+
+        private final List<Map.Entry<String, Query>> captured = new ArrayList<>();
+
+        QueryCapture(MongoDatabaseFactory factory, MongoConverter converter) {
+            super(factory, converter);
+        }
+
+        @Override
+        public <T> List<T> find(Query query, Class<T> entityClass, String collectionName) {
+            captured.add(Map.entry(collectionName, query));
+            return List.of();
+        }
+
+        @Override
+        public <T> Stream<T> stream(Query query, Class<T> entityType, String collectionName) {
+            captured.add(Map.entry(collectionName, query));
+            return Stream.empty();
+        }
+
+        void record(Map<String, Shape> shapes, String finder, Runnable call) {
+            captured.clear();
+            call.run();
+            String hot = getCollectionName(DemandEntity.class);
+            for (Map.Entry<String, Query> query : captured) {
+                String name = query.getKey().equals(hot) ? finder : finder + " on " + query.getKey();
+                shapes.put(name, shape(query.getValue(), query.getKey(), getConverter()));
+            }
+        }
+
+        Shape shape(Query query, MongoConverter converter) {
+            return shape(query, getCollectionName(DemandEntity.class), converter);
+        }
+
+        private static Shape shape(Query query, String collection, MongoConverter converter) {
+            QueryMapper mapper = new QueryMapper(converter);
+            MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(DemandEntity.class);
+            return new Shape(collection,
+                    mapper.getMappedObject(query.getQueryObject(), entity),
+                    mapper.getMappedSort(query.getSortObject(), entity),
+                    query.getLimit());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.demands.infraestructure.journal;
+
+import com.demands.infraestructure.repositories.TimerWrite;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only log of timer writes that were acknowledged but not yet written to Mongo. Lines go to numbered
+ * segments ({@code timers-<n>.log}): the owner rolls to a new segment whenever it drains its buffer and deletes the
+ * older ones once their writes are stored. Appends are not fsynced, so the journal survives a process crash but
+ * not the loss of the host.
+ */
+public class TimerJournal implements Closeable {
+
+    private static final String PREFIX = "timers-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private long sequence;
+    private FileChannel segment;
+
+    private TimerJournal(Path directory, long sequence) throws IOException {
+        this.directory = directory;
+        this.sequence = sequence;
+        this.segment = open(sequence);
+    }
+
+    /** Opens the journal in {@code directory}, starting a segment after any left over by a previous run. */
+    public static TimerJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        long last = segments(directory).stream().mapToLong(TimerJournal::number).max().orElse(0);
+        return new TimerJournal(directory, last + 1);
+    }
+
+    /** Writes left in earlier segments, oldest first. A line torn by a crash is skipped. */
+    public List<TimerWrite> replay() throws IOException {
+        List<TimerWrite> writes = new ArrayList<>();
+        for (Path path : segments(directory)) {
+            if (number(path) < sequence) {
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    TimerWrite write = parse(line);
+                    if (write != null) {
+                        writes.add(write);
+                    }
+                }
+            }
+        }
+        return writes;
+    }
+
+    /** Appends one write to the current segment; callers may append concurrently but not while rolling. */
+    public void append(TimerWrite write) throws IOException {
+        ByteBuffer line = StandardCharsets.UTF_8.encode(URLEncoder.encode(write.getDemandId(), StandardCharsets.UTF_8)
+                + '\t' + write.getStartTime() + '\t' + write.getEndTime() + '\t' + write.getReceivedAt() + '\n');
+        while (line.hasRemaining()) {
+            segment.write(line);
+        }
+    }
+
+    /** Starts a new segment and returns its number: every write appended so far is in a segment before it. */
+    public long roll() throws IOException {
+        FileChannel previous = segment;
+        segment = open(sequence + 1);
+        sequence++;
+        previous.close();
+        return sequence;
+    }
+
+    /** Deletes the segments numbered below {@code sequence}, once their writes are stored. */
+    public void deleteBefore(long sequence) throws IOException {
+        for (Path path : segments(directory)) {
+            if (number(path) < sequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment.close();
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(directory.resolve(PREFIX + number + SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static TimerWrite parse(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length != 4) {
+            return null;
+        }
+        try {
+            return new TimerWrite(URLDecoder.decode(fields[0], StandardCharsets.UTF_8), LocalDateTime.parse(fields[1]),
+                    LocalDateTime.parse(fields[2]), LocalDateTime.parse(fields[3]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches(PREFIX + "\\d+" + SUFFIX))
+                    .sorted(Comparator.comparingLong(TimerJournal::number))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long number(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
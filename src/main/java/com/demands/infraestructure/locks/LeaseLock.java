@@ -0,0 +1,54 @@
+package com.demands.infraestructure.locks;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Time-bounded named locks in the {@code demand_locks} collection, so scheduled jobs run on one node at a time.
+ * A lease is one document per name holding its owner and expiry; a node that dies simply lets it expire.
+ */
+@Component
+public class LeaseLock {
+
+    static final String COLLECTION = "demand_locks";
+
+    private final String owner = UUID.randomUUID().toString();
+    private final MongoTemplate mongoTemplate;
+
+    public LeaseLock(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Takes the lease if it is free, expired or already ours, and (re)sets its expiry to {@code ttl} from now.
+     * Returns false when another node holds it.
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        Date now = new Date();
+        Query query = new Query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("expiresAt").lt(now), Criteria.where("owner").is(owner)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", new Date(now.getTime() + ttl.toMillis()));
+        try {
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            // No match means a live lease of another owner; the upsert then collides on _id
+            return false;
+        }
+    }
+
+    /** Gives the lease up early; does nothing if it has expired and been taken over. */
+    public void release(String name) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(name).and("owner").is(owner)), COLLECTION);
+    }
+}
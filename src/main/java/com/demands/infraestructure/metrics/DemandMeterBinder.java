@@ -0,0 +1,51 @@
+package com.demands.infraestructure.metrics;
+
+import com.demands.infraestructure.cache.DemandCache;
+import com.demands.infraestructure.ratelimit.LoadShedder;
+import com.demands.infraestructure.ratelimit.MongoLoadTracker;
+import com.demands.security.JwtUtil;
+import com.demands.services.DemandEventHub;
+import com.demands.services.DemandTimerWriteBehind;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes state the application already tracks: hit/miss/eviction counts of the in-process caches, the
+ * number of open event streams, buffered timer updates and the load-shedding signals. Values are read at scrape time only.
+ */
+@Component
+@RequiredArgsConstructor
+public class DemandMeterBinder implements MeterBinder {
+
+    private final DemandCache demandCache;
+    private final JwtUtil jwtUtil;
+    private final DemandEventHub demandEventHub;
+    private final LoadShedder loadShedder;
+    private final MongoLoadTracker mongoLoad;
+    private final DemandTimerWriteBehind timerWriteBehind;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        demandCache.caches().forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, "demands." + name));
+        CaffeineCacheMetrics.monitor(registry, jwtUtil.getClaimsCache(), "jwt.claims");
+        Gauge.builder("demands.events.subscribers", demandEventHub, DemandEventHub::subscriberCount)
+                .description("Open Server-Sent Event streams")
+                .register(registry);
+        Gauge.builder("demands.load.concurrency.limit", loadShedder, LoadShedder::limit)
+                .description("Current adaptive limit on concurrent demand requests")
+                .register(registry);
+        Gauge.builder("demands.load.in_flight", loadShedder, LoadShedder::inFlight)
+                .description("Demand requests being handled")
+                .register(registry);
+        Gauge.builder("demands.mongo.pool.waiters", mongoLoad, MongoLoadTracker::poolWaiters)
+                .description("Threads waiting for a pooled Mongo connection")
+                .register(registry);
+        Gauge.builder("demands.timer.pending", timerWriteBehind, DemandTimerWriteBehind::pendingCount)
+                .description("Demands with a buffered timer update not yet written")
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.demands.infraestructure.metrics;
+
+import com.demands.infraestructure.entity.DemandTransition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Domain meters recorded from the services and controllers. Counters and summaries are registered up front so the
+ * hot path is a single lock-free record with no tag lookup.
+ */
+@Component
+public class DemandMetrics {
+
+    public enum Outcome { APPLIED, CONFLICT, NOT_FOUND }
+
+    public enum Rejection { RATE_LIMIT, OVERLOAD }
+
+    public enum TimerOutcome { BUFFERED, WRITTEN, SUPERSEDED, RETRIED }
+
+    public enum ListEndpoint { USER, OWN, STATUS, ALL, SEARCH }
+
+    private final Map<DemandTransition, Map<Outcome, Counter>> transitions = new EnumMap<>(DemandTransition.class);
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+    private final Map<TimerOutcome, Counter> timerUpdates = new EnumMap<>(TimerOutcome.class);
+    private final Map<ListEndpoint, DistributionSummary> pageItems = new EnumMap<>(ListEndpoint.class);
+
+    public DemandMetrics(MeterRegistry registry) {
+        for (DemandTransition transition : DemandTransition.values()) {
+            Map<Outcome, Counter> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Counter.builder("demands.transitions")
+                        .description("Timer transitions requested, by outcome")
+                        .tag("transition", transition.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry));
+            }
+            transitions.put(transition, byOutcome);
+        }
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, Counter.builder("demands.requests.rejected")
+                    .description("Requests answered 429, by reason")
+                    .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        for (TimerOutcome outcome : TimerOutcome.values()) {
+            timerUpdates.put(outcome, Counter.builder("demands.timer.updates")
+                    .description("Timer updates through the write-behind buffer, by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        for (ListEndpoint endpoint : ListEndpoint.values()) {
+            pageItems.put(endpoint, DistributionSummary.builder("demands.list.page.items")
+                    .description("Demands returned per list response")
+                    .tag("endpoint", endpoint.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void transition(DemandTransition transition, Outcome outcome) {
+        transitions.get(transition).get(outcome).increment();
+    }
+
+    public void transitions(DemandTransition transition, Outcome outcome, long count) {
+        transitions.get(transition).get(outcome).increment(count);
+    }
+
+    public void rejected(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    public void timerUpdates(TimerOutcome outcome, long count) {
+        timerUpdates.get(outcome).increment(count);
+    }
+
+    /** Items returned by one page of a list endpoint. */
+    public void recordPage(ListEndpoint endpoint, int items) {
+        pageItems.get(endpoint).record(items);
+    }
+}
@@ -0,0 +1,53 @@
+package com.demands.infraestructure.metrics;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code demands.in_progress} per group, refreshed by one aggregation on a fixed delay rather than on every
+ * scrape, so scraping never reaches the database.
+ */
+@Component
+@Slf4j
+public class InProgressDemandsGauge {
+
+    private final MongoTemplate mongoTemplate;
+    private final MultiGauge gauge;
+
+    public InProgressDemandsGauge(MongoTemplate mongoTemplate, MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.gauge = MultiGauge.builder("demands.in_progress")
+                .description("Demands currently IN_PROGRESS, by group")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${demands.metrics.in-progress-refresh:PT30S}")
+    public void refresh() {
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("status").is(DemandStatus.IN_PROGRESS)),
+                    Aggregation.group("groupId").count().as("count"));
+            List<MultiGauge.Row<?>> rows = mongoTemplate.aggregate(aggregation, DemandEntity.class, Document.class)
+                    .getMappedResults().stream()
+                    .<MultiGauge.Row<?>>map(row -> MultiGauge.Row.of(
+                            Tags.of("groupId", row.get("_id") != null ? row.get("_id").toString() : "none"),
+                            ((Number) row.get("count")).doubleValue()))
+                    .toList();
+            gauge.register(rows, true);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh in-progress demand gauge: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.demands.infraestructure.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive cap on concurrent demand requests (AIMD). While Mongo is healthy the limit grows by one per
+ * {@code limit} completions; when the average command latency passes the target or too many threads wait for
+ * a pooled connection, it shrinks by 10%, at most once per {@code latency-target}. Requests over
+ * the limit, or arriving while the pool queue is over its threshold, are rejected instead of queued.
+ */
+@Component
+public class LoadShedder {
+
+    private static final double BACKOFF = 0.9;
+
+    private final MongoLoadTracker mongoLoad;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double latencyTargetMillis;
+    private final int maxPoolWaiters;
+    private final long decreaseIntervalNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    public LoadShedder(MongoLoadTracker mongoLoad,
+                       @Value("${demands.load-shedding.initial-limit:100}") int initialLimit,
+                       @Value("${demands.load-shedding.min-limit:10}") int minLimit,
+                       @Value("${demands.load-shedding.max-limit:400}") int maxLimit,
+                       @Value("${demands.load-shedding.latency-target:PT0.05S}") Duration latencyTarget,
+                       @Value("${demands.load-shedding.max-pool-waiters:50}") int maxPoolWaiters) {
+        this.mongoLoad = mongoLoad;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetMillis = latencyTarget.toNanos() / 1_000_000.0;
+        this.maxPoolWaiters = maxPoolWaiters;
+        this.decreaseIntervalNanos = latencyTarget.toNanos();
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+    }
+
+    /** Admits the request unless the node is saturated; every admitted request must be {@link #release released}. */
+    public boolean tryAcquire() {
+        if (mongoLoad.poolWaiters() > maxPoolWaiters) {
+            return false;
+        }
+        if (inFlight.incrementAndGet() > limit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long nowNanos) {
+        inFlight.decrementAndGet();
+        boolean overloaded = mongoLoad.averageLatencyMillis() > latencyTargetMillis || mongoLoad.poolWaiters() > maxPoolWaiters;
+        if (overloaded) {
+            long last = lastDecrease.get();
+            if (nowNanos - last >= decreaseIntervalNanos && lastDecrease.compareAndSet(last, nowNanos)) {
+                limitBits.getAndUpdate(bits -> Double.doubleToRawLongBits(Math.max(minLimit, Double.longBitsToDouble(bits) * BACKOFF)));
+            }
+        } else {
+            limitBits.getAndUpdate(bits -> {
+                double limit = Double.longBitsToDouble(bits);
+                return Double.doubleToRawLongBits(Math.min(maxLimit, limit + 1 / limit));
+            });
+        }
+    }
+
+    public double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
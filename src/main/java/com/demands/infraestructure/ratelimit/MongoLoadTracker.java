@@ -0,0 +1,71 @@
+package com.demands.infraestructure.ratelimit;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mongo-side load signals for {@link LoadShedder}: a moving average of command latency and the number of
+ * threads waiting for a pooled connection. Registered on the Mongo clients through their settings customizer.
+ */
+@Component
+public class MongoLoadTracker implements CommandListener, ConnectionPoolListener, MongoClientSettingsBuilderCustomizer {
+
+    // Weight of the newest sample; about the last 20 commands dominate the average
+    private static final double ALPHA = 0.05;
+
+    private final AtomicLong averageNanosBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private final AtomicInteger poolWaiters = new AtomicInteger();
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.addCommandListener(this)
+                .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(this));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        // getMore on tailable and change stream cursors blocks by design and says nothing about load
+        if ("getMore".equals(event.getCommandName())) {
+            return;
+        }
+        double sample = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        averageNanosBits.getAndUpdate(bits -> {
+            double average = Double.longBitsToDouble(bits);
+            return Double.doubleToRawLongBits(average == 0 ? sample : average + ALPHA * (sample - average));
+        });
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        poolWaiters.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        poolWaiters.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        poolWaiters.decrementAndGet();
+    }
+
+    public double averageLatencyMillis() {
+        return Double.longBitsToDouble(averageNanosBits.get()) / 1_000_000;
+    }
+
+    public int poolWaiters() {
+        return poolWaiters.get();
+    }
+}
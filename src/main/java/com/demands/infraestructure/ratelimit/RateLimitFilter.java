@@ -0,0 +1,96 @@
+package com.demands.infraestructure.ratelimit;
+
+import com.demands.infraestructure.exceptions.ApiResponse;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.security.JwtPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs after {@link com.demands.security.JwtAuthenticationFilter} on {@code /demands} requests: first the
+ * caller's rate limit (user and group buckets; GET and HEAD spend the read budget, everything else the
+ * mutation budget), then the node-wide {@link LoadShedder}. Rejections are 429 with Retry-After in seconds.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Event streams stay open for minutes; they are rate limited but never hold a concurrency slot
+    private static final String EVENTS_PATH = "/demands/events";
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final DemandMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final boolean rateLimitEnabled;
+    private final boolean sheddingEnabled;
+
+    public RateLimitFilter(RateLimiter rateLimiter, LoadShedder loadShedder, DemandMetrics metrics, ObjectMapper objectMapper,
+                           @Value("${demands.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                           @Value("${demands.load-shedding.enabled:true}") boolean sheddingEnabled) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.sheddingEnabled = sheddingEnabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals("/demands") || path.startsWith("/demands/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimitEnabled) {
+            JwtPrincipal principal = (JwtPrincipal) request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+            // Unauthenticated calls are limited per client address
+            String userKey = principal != null ? principal.getUserId() : "ip:" + request.getRemoteAddr();
+            String groupId = principal != null ? principal.getGroupId() : null;
+            boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+            long waitNanos = rateLimiter.tryAcquire(userKey, groupId, write, System.nanoTime());
+            if (waitNanos > 0) {
+                metrics.rejected(DemandMetrics.Rejection.RATE_LIMIT);
+                reject(response, waitNanos, "Limite de requisições excedido. Tente novamente em instantes.");
+                return;
+            }
+        }
+
+        boolean slot = sheddingEnabled && !request.getRequestURI().endsWith(EVENTS_PATH);
+        if (slot && !loadShedder.tryAcquire()) {
+            metrics.rejected(DemandMetrics.Rejection.OVERLOAD);
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Serviço sobrecarregado. Tente novamente em instantes.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (slot) {
+                loadShedder.release(System.nanoTime());
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse(HttpStatus.TOO_MANY_REQUESTS.value(), message));
+    }
+}
@@ -0,0 +1,63 @@
+package com.demands.infraestructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-user and per-group token buckets, with separate budgets for reads and mutations. A request must get a
+ * token from its user bucket and then from its group bucket. Buckets live in a Caffeine map (striped,
+ * lock-free reads) and are dropped after {@code demands.rate-limit.idle-expiry} without traffic.
+ */
+@Component
+public class RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Budget userRead;
+    private final Budget userWrite;
+    private final Budget groupRead;
+    private final Budget groupWrite;
+
+    public RateLimiter(@Value("${demands.rate-limit.user.read.rate:20}") double userReadRate,
+                       @Value("${demands.rate-limit.user.read.burst:40}") int userReadBurst,
+                       @Value("${demands.rate-limit.user.write.rate:5}") double userWriteRate,
+                       @Value("${demands.rate-limit.user.write.burst:20}") int userWriteBurst,
+                       @Value("${demands.rate-limit.group.read.rate:200}") double groupReadRate,
+                       @Value("${demands.rate-limit.group.read.burst:400}") int groupReadBurst,
+                       @Value("${demands.rate-limit.group.write.rate:50}") double groupWriteRate,
+                       @Value("${demands.rate-limit.group.write.burst:100}") int groupWriteBurst,
+                       @Value("${demands.rate-limit.idle-expiry:PT10M}") Duration idleExpiry,
+                       @Value("${demands.rate-limit.max-keys:100000}") long maxKeys) {
+        this.userRead = new Budget("u:r:", userReadRate, userReadBurst);
+        this.userWrite = new Budget("u:w:", userWriteRate, userWriteBurst);
+        this.groupRead = new Budget("g:r:", groupReadRate, groupReadBurst);
+        this.groupWrite = new Budget("g:w:", groupWriteRate, groupWriteBurst);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    /**
+     * Takes a token for the caller; {@code groupId} may be null. Returns 0 when admitted, otherwise the
+     * nanoseconds until the exhausted bucket has a token again.
+     */
+    public long tryAcquire(String userKey, String groupId, boolean write, long nowNanos) {
+        long wait = acquire(write ? userWrite : userRead, userKey, nowNanos);
+        if (wait > 0 || groupId == null) {
+            return wait;
+        }
+        return acquire(write ? groupWrite : groupRead, groupId, nowNanos);
+    }
+
+    private long acquire(Budget budget, String key, long nowNanos) {
+        TokenBucket bucket = buckets.get(budget.prefix + key, ignored -> new TokenBucket(budget.rate, budget.burst, nowNanos));
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    private record Budget(String prefix, double rate, int burst) {
+    }
+}
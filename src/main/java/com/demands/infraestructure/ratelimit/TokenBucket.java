@@ -0,0 +1,36 @@
+package com.demands.infraestructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (the GCRA form): a request is admitted while that time
+ * is no more than {@code burst - 1} intervals ahead of now, and admitting it pushes the time one interval
+ * further. One CAS per request, no lock and no refill task.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /** Takes one token; returns 0 when admitted, otherwise the nanoseconds until a token is available. */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long base = Math.max(arrival, nowNanos);
+            long ahead = base - nowNanos;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class BulkTimerResult {
+    // Demands whose timer was replaced, as they were just before the write
+    private final Map<String, DemandEntity> previous;
+    // Writes that raced with another update of the demand and were not applied; worth retrying
+    private final List<TimerWrite> conflicted;
+}
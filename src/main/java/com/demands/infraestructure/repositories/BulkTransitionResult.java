@@ -0,0 +1,16 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor
+public class BulkTransitionResult {
+    // Applied transitions with the read-back status, timer and ownership fields of the updated demand
+    private final Map<String, DemandEntity> applied;
+    private final Set<String> existing;
+}
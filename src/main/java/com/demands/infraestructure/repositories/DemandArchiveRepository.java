@@ -0,0 +1,32 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold storage for CLOSED demands: documents are moved unchanged to {@value #COLLECTION}, which carries only the
+ * keyset list indexes, so the hot collection and its indexes hold active and recently closed demands only.
+ */
+public interface DemandArchiveRepository {
+
+    String COLLECTION = "demand_archive";
+
+    /** Oldest CLOSED demands last changed before {@code cutoff}, read through {@code status_statusDate}. */
+    List<DemandEntity> findClosedBefore(LocalDateTime cutoff, int limit);
+
+    /**
+     * Copies the demands to the archive, then removes each from the hot collection unless it changed since it
+     * was read. Returns the demands that were moved; a copy whose original changed is removed again.
+     */
+    List<DemandEntity> archive(List<DemandEntity> demands);
+
+    Optional<DemandEntity> findArchivedById(String demandId);
+
+    boolean deleteArchived(String demandId);
+
+    void deleteAllArchived();
+}
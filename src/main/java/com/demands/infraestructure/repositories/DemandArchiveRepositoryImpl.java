@@ -0,0 +1,78 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class DemandArchiveRepositoryImpl implements DemandArchiveRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<DemandEntity> findClosedBefore(LocalDateTime cutoff, int limit) {
+        Query query = new Query(Criteria.where("status").is(DemandStatus.CLOSED).and("statusDate").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "statusDate"))
+                .limit(limit);
+        return mongoTemplate.find(query, DemandEntity.class);
+    }
+
+    @Override
+    public List<DemandEntity> archive(List<DemandEntity> demands) {
+        if (demands.isEmpty()) {
+            return List.of();
+        }
+        // Upserts, so a batch interrupted between copy and removal is simply copied again on the next run
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class, COLLECTION);
+        demands.forEach(demand -> copy.replaceOne(byId(demand.getDemandId()), demand, FindAndReplaceOptions.options().upsert()));
+        copy.execute();
+
+        BulkOperations remove = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class);
+        demands.forEach(demand -> remove.remove(new Query(Criteria.where("demandId").is(demand.getDemandId())
+                .and("status").is(DemandStatus.CLOSED)
+                .and("statusDate").is(demand.getStatusDate()))));
+        remove.execute();
+
+        // bulkWrite only reports totals: whatever is still hot was edited meanwhile and stays there
+        Query stillHot = new Query(Criteria.where("demandId").in(demands.stream().map(DemandEntity::getDemandId).collect(Collectors.toList())));
+        stillHot.fields().include("demandId");
+        Set<String> kept = mongoTemplate.find(stillHot, DemandEntity.class).stream()
+                .map(DemandEntity::getDemandId)
+                .collect(Collectors.toSet());
+        if (!kept.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("demandId").in(kept)), DemandEntity.class, COLLECTION);
+        }
+        return demands.stream().filter(demand -> !kept.contains(demand.getDemandId())).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<DemandEntity> findArchivedById(String demandId) {
+        return Optional.ofNullable(mongoTemplate.findById(demandId, DemandEntity.class, COLLECTION));
+    }
+
+    @Override
+    public boolean deleteArchived(String demandId) {
+        return mongoTemplate.remove(byId(demandId), DemandEntity.class, COLLECTION).getDeletedCount() > 0;
+    }
+
+    @Override
+    public void deleteAllArchived() {
+        mongoTemplate.remove(new Query(), DemandEntity.class, COLLECTION);
+    }
+
+    private static Query byId(String demandId) {
+        return new Query(Criteria.where("demandId").is(demandId));
+    }
+}
@@ -0,0 +1,58 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.mongodb.bulk.BulkWriteError;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch counterparts of the single-demand writes, each sent as one unordered bulkWrite.
+ */
+public interface DemandBulkRepository {
+
+    /**
+     * Inserts every demand (ids must already be assigned). Returns the server error of each failed insert
+     * keyed by its position in {@code demands}; an empty map means everything was inserted.
+     */
+    Map<Integer, BulkWriteError> insertAll(List<DemandEntity> demands);
+
+    /**
+     * Applies each transition under its status precondition, stamping {@code statusDate} with {@code now}
+     * (millisecond precision) and {@code batchId} with an id unique to the call. Returns the demands carrying
+     * that id, as read back after the write; ids that exist but were not applied failed their precondition.
+     */
+    BulkTransitionResult transitionAll(Map<String, DemandTransition> transitions, LocalDateTime now);
+
+    /**
+     * Replaces the timer of each demand, stamping {@code statusDate} with the write's own
+     * {@link TimerWrite#statusDate() receipt time} rather than the time of the flush. A write is skipped when
+     * the demand was changed after it was received, so replaying an old write never rolls a demand back, while
+     * a write received after an earlier flushed one still applies however late it is flushed itself. Missing
+     * demands are skipped too.
+     */
+    BulkTimerResult replaceTimers(Collection<TimerWrite> writes);
+
+    /**
+     * Fills {@code searchTerms} on demands written before it existed, {@code batchSize} updates per bulkWrite.
+     * Returns how many demands were updated.
+     */
+    long backfillSearchTerms(int batchSize);
+
+    /**
+     * Stamps {@code groupId} on demands written before it was recorded, in the hot collection and the archive,
+     * with the group of the owner's most recent grouped demand; {@code batchSize} owners per bulkWrite. Owners
+     * with no grouped demand yet are left as they are. Returns how many demands were updated.
+     */
+    long backfillGroupIds(int batchSize);
+
+    /**
+     * Deletes the given demands from the hot collection and the archive, and returns the ones that existed, with
+     * their id and owner fields; a demand caught between archive copy and removal is returned once.
+     */
+    List<DemandEntity> deleteAllExisting(Collection<String> demandIds);
+}
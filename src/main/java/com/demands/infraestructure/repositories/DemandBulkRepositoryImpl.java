@@ -0,0 +1,212 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DemandBulkRepositoryImpl implements DemandBulkRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Map<Integer, BulkWriteError> insertAll(List<DemandEntity> demands) {
+        if (demands.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class);
+        operations.insert(demands);
+        try {
+            operations.execute();
+            return Map.of();
+        } catch (BulkOperationException ex) {
+            return ex.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, error -> error));
+        }
+    }
+
+    @Override
+    public BulkTransitionResult transitionAll(Map<String, DemandTransition> transitions, LocalDateTime now) {
+        if (transitions.isEmpty()) {
+            return new BulkTransitionResult(Map.of(), Set.of());
+        }
+        // Unique to this call: a single-demand write landing in the same millisecond never carries it
+        String batchId = new ObjectId().toHexString();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class);
+        transitions.forEach((demandId, transition) -> operations.updateOne(
+                DemandTransitionUpdates.query(demandId, transition), DemandTransitionUpdates.update(transition, now, batchId)));
+        operations.execute();
+
+        // bulkWrite only reports totals, so read back the batch stamp to attribute each update
+        Query readBack = new Query(Criteria.where("demandId").in(transitions.keySet()));
+        readBack.fields().include("status", "statusDate", "startTime", "pauseTime", "totalDuration", "userId", "userIds", "groupId", "type", "batchId");
+        Map<String, DemandEntity> applied = new HashMap<>();
+        Set<String> existing = new HashSet<>();
+        for (DemandEntity demand : mongoTemplate.find(readBack, DemandEntity.class)) {
+            existing.add(demand.getDemandId());
+            if (batchId.equals(demand.getBatchId())) {
+                applied.put(demand.getDemandId(), demand);
+            }
+        }
+        return new BulkTransitionResult(applied, existing);
+    }
+
+    @Override
+    public BulkTimerResult replaceTimers(Collection<TimerWrite> writes) {
+        Map<String, TimerWrite> byId = writes.stream()
+                .collect(Collectors.toMap(TimerWrite::getDemandId, write -> write, TimerWrite::latest));
+        if (byId.isEmpty()) {
+            return new BulkTimerResult(Map.of(), List.of());
+        }
+
+        // Unique to this call, like transitionAll's: a racing write with the same statusDate never carries it
+        String batchId = new ObjectId().toHexString();
+        // The pre-images give the rollup deltas and events; each update is guarded by the statusDate read here
+        Map<String, DemandEntity> current = new HashMap<>();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class);
+        for (DemandEntity demand : mongoTemplate.find(new Query(Criteria.where("demandId").in(byId.keySet())), DemandEntity.class)) {
+            TimerWrite write = byId.get(demand.getDemandId());
+            // Earlier timer writes stamped their receipt time too, so only a change made after this one was
+            // received, not merely flushed earlier, supersedes it
+            if (demand.getStatusDate() != null && demand.getStatusDate().isAfter(write.statusDate())) {
+                continue;
+            }
+            current.put(demand.getDemandId(), demand);
+            operations.updateOne(
+                    new Query(Criteria.where("demandId").is(demand.getDemandId()).and("statusDate").is(demand.getStatusDate())),
+                    new Update()
+                            .set("startTime", write.getStartTime())
+                            .set("endTime", write.getEndTime())
+                            .set("totalDuration", write.durationSeconds())
+                            .set("statusDate", write.statusDate())
+                            .set("batchId", batchId));
+        }
+        if (current.isEmpty()) {
+            return new BulkTimerResult(Map.of(), List.of());
+        }
+        operations.execute();
+
+        // bulkWrite only reports totals, so read back the batch stamp to attribute each update
+        Query readBack = new Query(Criteria.where("demandId").in(current.keySet()).and("batchId").is(batchId));
+        readBack.fields().include("demandId");
+        Set<String> written = mongoTemplate.find(readBack, DemandEntity.class).stream()
+                .map(DemandEntity::getDemandId)
+                .collect(Collectors.toSet());
+        Map<String, DemandEntity> previous = new HashMap<>();
+        List<TimerWrite> conflicted = new ArrayList<>();
+        current.forEach((demandId, demand) -> {
+            if (written.contains(demandId)) {
+                previous.put(demandId, demand);
+            } else {
+                conflicted.add(byId.get(demandId));
+            }
+        });
+        return new BulkTimerResult(previous, conflicted);
+    }
+
+    @Override
+    public long backfillSearchTerms(int batchSize) {
+        Query missing = new Query(Criteria.where("searchTerms").exists(false)).cursorBatchSize(batchSize);
+        missing.fields().include("demandId", "title");
+        long updated = 0;
+        try (Stream<DemandEntity> demands = mongoTemplate.stream(missing, DemandEntity.class)) {
+            Iterator<DemandEntity> iterator = demands.iterator();
+            while (iterator.hasNext()) {
+                BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class);
+                int pending = 0;
+                while (pending < batchSize && iterator.hasNext()) {
+                    DemandEntity demand = iterator.next();
+                    operations.updateOne(new Query(Criteria.where("demandId").is(demand.getDemandId())),
+                            new Update().set("searchTerms", DemandSearchTerms.of(demand.getTitle())));
+                    pending++;
+                }
+                updated += operations.execute().getModifiedCount();
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public long backfillGroupIds(int batchSize) {
+        long updated = 0;
+        Query ungrouped = new Query(Criteria.where("groupId").is(null));
+        for (String collection : List.of(mongoTemplate.getCollectionName(DemandEntity.class), DemandArchiveRepository.COLLECTION)) {
+            // Served by groupId_statusDate: a missing groupId is indexed as null
+            List<String> owners = mongoTemplate.findDistinct(ungrouped, "userId", collection, DemandEntity.class, String.class);
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class, collection);
+            int pending = 0;
+            for (String userId : owners) {
+                String groupId = userId != null ? latestGroupOf(userId) : null;
+                if (groupId == null) {
+                    continue;
+                }
+                operations.updateMulti(new Query(Criteria.where("userId").is(userId).and("groupId").is(null)),
+                        new Update().set("groupId", groupId));
+                if (++pending == batchSize) {
+                    updated += operations.execute().getModifiedCount();
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class, collection);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                updated += operations.execute().getModifiedCount();
+            }
+        }
+        return updated;
+    }
+
+    // The group stamped from the owner's token on their most recent write, read through userId_statusDate
+    private String latestGroupOf(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("groupId").ne(null))
+                .with(Sort.by(Sort.Direction.DESC, "statusDate"))
+                .limit(1);
+        query.fields().include("groupId");
+        DemandEntity latest = mongoTemplate.findOne(query, DemandEntity.class);
+        if (latest == null) {
+            latest = mongoTemplate.findOne(query, DemandEntity.class, DemandArchiveRepository.COLLECTION);
+        }
+        return latest != null ? latest.getGroupId() : null;
+    }
+
+    @Override
+    public List<DemandEntity> deleteAllExisting(Collection<String> demandIds) {
+        if (demandIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, DemandEntity> existing = new LinkedHashMap<>();
+        // Archived demands are readable by id and listed in history, so they are deleted too; hot copies win
+        for (String collection : List.of(DemandArchiveRepository.COLLECTION, mongoTemplate.getCollectionName(DemandEntity.class))) {
+            Query query = new Query(Criteria.where("demandId").in(demandIds));
+            query.fields().include("demandId", "userId", "userIds", "groupId");
+            List<DemandEntity> found = mongoTemplate.find(query, DemandEntity.class, collection);
+            if (!found.isEmpty()) {
+                List<String> foundIds = found.stream().map(DemandEntity::getDemandId).collect(Collectors.toList());
+                mongoTemplate.remove(new Query(Criteria.where("demandId").in(foundIds)), DemandEntity.class, collection);
+                found.forEach(demand -> existing.put(demand.getDemandId(), demand));
+            }
+        }
+        return new ArrayList<>(existing.values());
+    }
+}
@@ -0,0 +1,73 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.dtos.DemandView;
+import com.demands.infraestructure.entity.DemandStatus;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates a {@link DemandFilter} into Mongo criteria so filtering runs on the server.
+ */
+final class DemandCriteria {
+
+    private DemandCriteria() {
+    }
+
+    /**
+     * History (or any CLOSED listing) also reads {@link DemandArchiveRepository#COLLECTION}. {@code status} is the
+     * status the scope itself is limited to, or null when it is not.
+     */
+    static boolean includesArchive(DemandStatus status, DemandFilter filter) {
+        return status == DemandStatus.CLOSED || filter != null
+                && (Boolean.TRUE.equals(filter.getHistory()) || filter.getStatus() == DemandStatus.CLOSED);
+    }
+
+    /** Narrows the documents read to {@link DemandRepositoryCustom#SUMMARY_FIELDS} when a summary view is asked for. */
+    static void project(Query query, DemandFilter filter) {
+        if (filter != null && filter.getView() == DemandView.SUMMARY) {
+            query.fields().include(DemandRepositoryCustom.SUMMARY_FIELDS.toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Strictly after the cursor in (statusDate desc, demandId desc) order. Mongo sorts a missing or null
+     * {@code statusDate} lowest, so those demands form the tail after every dated one.
+     */
+    static Criteria after(DemandCursor cursor) {
+        if (cursor.getStatusDate() == null) {
+            return Criteria.where("statusDate").is(null).and("demandId").lt(cursor.getDemandId());
+        }
+        return new Criteria().orOperator(
+                Criteria.where("statusDate").lt(cursor.getStatusDate()),
+                Criteria.where("statusDate").is(cursor.getStatusDate()).and("demandId").lt(cursor.getDemandId()),
+                Criteria.where("statusDate").is(null));
+    }
+
+    static List<Criteria> of(DemandFilter filter) {
+        List<Criteria> clauses = new ArrayList<>();
+        if (filter == null) {
+            return clauses;
+        }
+        if (filter.getStatus() != null) {
+            clauses.add(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getType() != null) {
+            clauses.add(Criteria.where("type").is(filter.getType()));
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria range = Criteria.where("statusDate");
+            if (filter.getFrom() != null) {
+                range = range.gte(filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                range = range.lt(filter.getTo());
+            }
+            clauses.add(range);
+        }
+        return clauses;
+    }
+}
@@ -0,0 +1,48 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.exceptions.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position on {@code (statusDate, demandId)}, serialized as an opaque URL-safe token. Demands that were
+ * never stamped have no {@code statusDate}; their position is encoded with an empty date.
+ */
+@Getter
+@AllArgsConstructor
+public class DemandCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime statusDate;
+    private final String demandId;
+
+    public static DemandCursor after(DemandEntity demand) {
+        return new DemandCursor(demand.getStatusDate(), demand.getDemandId());
+    }
+
+    public String encode() {
+        String raw = (statusDate == null ? "" : statusDate.toString()) + SEPARATOR + demandId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DemandCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new InvalidCursorException("Cursor de paginação inválido.");
+            }
+            LocalDateTime statusDate = separator == 0 ? null : LocalDateTime.parse(raw.substring(0, separator));
+            return new DemandCursor(statusDate, raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -6,13 +6,12 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface DemandRepository extends MongoRepository<DemandEntity, String> {
+public interface DemandRepository extends MongoRepository<DemandEntity, String>, DemandRepositoryCustom,
+        DemandTransitionRepository, DemandBulkRepository, DemandArchiveRepository {
     List<DemandEntity> findByUserId(String userId);
 
     List<DemandEntity> findByStatus(DemandStatus status);
 
     List<DemandEntity> findByUserIdOrUserIdsContaining(String userId, String userIdContaining);
 
-    List<DemandEntity> findByUserIdInAndGroupId(String userId, String groupId);
-
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyset-paginated counterparts of the {@link DemandRepository} finders, ordered by
+ * {@code statusDate} then {@code demandId}, newest first. A null cursor starts at the first page.
+ */
+public interface DemandRepositoryCustom {
+
+    /** Fields read for {@code view=SUMMARY} pages: what a list row shows, its running time and the keyset. */
+    List<String> SUMMARY_FIELDS = List.of("demandId", "userId", "title", "status", "type", "startTime", "totalDuration", "statusDate");
+
+    Slice<DemandEntity> findPageByUserId(String userId, DemandFilter filter, DemandCursor cursor, int limit);
+
+    Slice<DemandEntity> findPageByStatus(DemandStatus status, DemandFilter filter, DemandCursor cursor, int limit);
+
+    Slice<DemandEntity> findPageByUserIdOrUserIdsContaining(String userId, DemandFilter filter, DemandCursor cursor, int limit);
+
+    /**
+     * Everything stamped with the group, i.e. what its managers see: one range of {@code groupId_statusDate}
+     * per page, so the cost is the page size whatever the number of members or demands in the group.
+     */
+    Slice<DemandEntity> findPageByGroupId(String groupId, DemandFilter filter, DemandCursor cursor, int limit);
+
+    /**
+     * Cursor-backed streams for exports: documents are pulled from Mongo in batches as the stream is consumed.
+     * Callers must close the stream.
+     */
+    Stream<DemandEntity> streamByUserId(String userId, DemandFilter filter);
+
+    Stream<DemandEntity> streamByGroupId(String groupId, DemandFilter filter);
+
+    /**
+     * Count and latest {@code statusDate} of everything the matching finder would page through, computed with
+     * one aggregation instead of loading documents. Used to answer conditional GETs.
+     */
+    DemandVersion versionByUserId(String userId, DemandFilter filter);
+
+    DemandVersion versionByUserIdOrUserIdsContaining(String userId, DemandFilter filter);
+
+    DemandVersion versionByGroupId(String groupId, DemandFilter filter);
+
+    /**
+     * IN_PROGRESS demands the user owns or shares, read through the partial {@code active_*} indexes. Only
+     * {@code demandId}, {@code status}, {@code startTime} and {@code totalDuration} are loaded.
+     */
+    List<DemandEntity> findActiveByUserId(String userId);
+
+    /**
+     * Full-text search over title (weight 3) and description through the text index, best match first,
+     * paginated by offset since relevance has no stable keyset. A non-null {@code groupId} searches the whole
+     * group; otherwise the demands {@code userId} owns or shares.
+     */
+    Slice<DemandEntity> searchText(String text, String userId, String groupId, int offset, int limit);
+
+    /**
+     * Type-ahead over title words: every query word but the last must match a whole word and the last one a
+     * word prefix, in the order of the matching words. Scoped like {@link #searchText}; only {@code demandId}, {@code title} and
+     * {@code status} are loaded.
+     */
+    List<DemandEntity> suggestByTitlePrefix(String query, String userId, String groupId, int limit);
+
+    /**
+     * Up to {@code limit} ids of IN_PROGRESS demands started before {@code cutoff}, oldest first, read through
+     * the partial {@code active_startTime} index. Only {@code demandId} is loaded.
+     */
+    List<String> findRunningStartedBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,248 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DemandRepositoryImpl implements DemandRepositoryCustom {
+
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "statusDate", "demandId");
+    // KEYSET_ORDER in memory; Mongo sorts a missing statusDate lowest
+    private static final Comparator<DemandEntity> KEYSET_COMPARATOR = Comparator
+            .comparing(DemandEntity::getStatusDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(DemandEntity::getDemandId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .reversed();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Slice<DemandEntity> findPageByUserId(String userId, DemandFilter filter, DemandCursor cursor, int limit) {
+        return findPage(Criteria.where("userId").is(userId), null, filter, cursor, limit);
+    }
+
+    @Override
+    public Slice<DemandEntity> findPageByStatus(DemandStatus status, DemandFilter filter, DemandCursor cursor, int limit) {
+        return findPage(Criteria.where("status").is(status), status, filter, cursor, limit);
+    }
+
+    @Override
+    public Slice<DemandEntity> findPageByUserIdOrUserIdsContaining(String userId, DemandFilter filter, DemandCursor cursor, int limit) {
+        Criteria scope = new Criteria().orOperator(
+                Criteria.where("userId").is(userId),
+                Criteria.where("userIds").is(userId));
+        return findPage(scope, null, filter, cursor, limit);
+    }
+
+    @Override
+    public Slice<DemandEntity> findPageByGroupId(String groupId, DemandFilter filter, DemandCursor cursor, int limit) {
+        return findPage(Criteria.where("groupId").is(groupId), null, filter, cursor, limit);
+    }
+
+    @Override
+    public Stream<DemandEntity> streamByUserId(String userId, DemandFilter filter) {
+        return stream(Criteria.where("userId").is(userId), null, filter);
+    }
+
+    @Override
+    public Stream<DemandEntity> streamByGroupId(String groupId, DemandFilter filter) {
+        return stream(Criteria.where("groupId").is(groupId), null, filter);
+    }
+
+    @Override
+    public List<DemandEntity> findActiveByUserId(String userId) {
+        // Each branch repeats the status so the planner can match it against the partial filter
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("userId").is(userId).and("status").is(DemandStatus.IN_PROGRESS),
+                Criteria.where("userIds").is(userId).and("status").is(DemandStatus.IN_PROGRESS)));
+        query.fields().include("demandId", "status", "startTime", "totalDuration");
+        return mongoTemplate.find(query, DemandEntity.class);
+    }
+
+    @Override
+    public DemandVersion versionByUserId(String userId, DemandFilter filter) {
+        return version(Criteria.where("userId").is(userId), null, filter);
+    }
+
+    @Override
+    public DemandVersion versionByUserIdOrUserIdsContaining(String userId, DemandFilter filter) {
+        return version(new Criteria().orOperator(
+                Criteria.where("userId").is(userId),
+                Criteria.where("userIds").is(userId)), null, filter);
+    }
+
+    @Override
+    public DemandVersion versionByGroupId(String groupId, DemandFilter filter) {
+        return version(Criteria.where("groupId").is(groupId), null, filter);
+    }
+
+    @Override
+    public Slice<DemandEntity> searchText(String text, String userId, String groupId, int offset, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .addCriteria(searchScope(userId, groupId, List.of()))
+                .skip(offset)
+                .limit(limit + 1);
+        List<DemandEntity> demands = mongoTemplate.find(query, DemandEntity.class);
+        boolean hasNext = demands.size() > limit;
+        List<DemandEntity> content = hasNext ? demands.subList(0, limit) : demands;
+        return new SliceImpl<>(content, PageRequest.of(0, limit), hasNext);
+    }
+
+    @Override
+    public List<DemandEntity> suggestByTitlePrefix(String query, String userId, String groupId, int limit) {
+        List<String> tokens = DemandSearchTerms.tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        // Tokens are letters and digits only, so the prefix needs no escaping and stays an index range
+        List<Criteria> terms = new ArrayList<>();
+        terms.add(Criteria.where("searchTerms").regex("^" + tokens.get(tokens.size() - 1)));
+        if (tokens.size() > 1) {
+            terms.add(Criteria.where("searchTerms").all(tokens.subList(0, tokens.size() - 1)));
+        }
+        // No sort: results come in index (word) order, so only the first few index entries are ever read
+        Query suggest = new Query(searchScope(userId, groupId, terms)).limit(limit);
+        suggest.fields().include("demandId", "title", "status");
+        return mongoTemplate.find(suggest, DemandEntity.class);
+    }
+
+    @Override
+    public List<String> findRunningStartedBefore(LocalDateTime cutoff, int limit) {
+        Query query = new Query(Criteria.where("status").is(DemandStatus.IN_PROGRESS).and("startTime").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "startTime"))
+                .limit(limit);
+        query.fields().include("demandId");
+        return mongoTemplate.find(query, DemandEntity.class).stream()
+                .map(DemandEntity::getDemandId)
+                .collect(Collectors.toList());
+    }
+
+    // The term clauses are repeated inside each $or branch so every branch can use its own index
+    private static Criteria searchScope(String userId, String groupId, List<Criteria> terms) {
+        if (groupId != null) {
+            return branch(Criteria.where("groupId").is(groupId), terms);
+        }
+        return new Criteria().orOperator(
+                branch(Criteria.where("userId").is(userId), terms),
+                branch(Criteria.where("userIds").is(userId), terms));
+    }
+
+    private static Criteria branch(Criteria scope, List<Criteria> terms) {
+        if (terms.isEmpty()) {
+            return scope;
+        }
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(scope);
+        clauses.addAll(terms);
+        return new Criteria().andOperator(clauses);
+    }
+
+    // Same match as the finders, so the same indexes serve it; only statusDate leaves the index
+    private DemandVersion version(Criteria scope, DemandStatus status, DemandFilter filter) {
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(scope);
+        clauses.addAll(DemandCriteria.of(filter));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().andOperator(clauses)),
+                Aggregation.group().count().as("count").max("statusDate").as("lastModified")
+                        .sum(ConvertOperators.valueOf("statusDate").convertToLong()).as("checksum"));
+        DemandVersion hot = version(aggregation, mongoTemplate.getCollectionName(DemandEntity.class));
+        return DemandCriteria.includesArchive(status, filter)
+                ? hot.plus(version(aggregation, DemandArchiveRepository.COLLECTION))
+                : hot;
+    }
+
+    private DemandVersion version(Aggregation aggregation, String collection) {
+        Document result = mongoTemplate.aggregate(aggregation, collection, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return DemandVersion.EMPTY;
+        }
+        Date lastModified = result.getDate("lastModified");
+        Number checksum = result.get("checksum", Number.class);
+        return new DemandVersion(result.get("count", Number.class).longValue(),
+                lastModified == null ? null : LocalDateTime.ofInstant(lastModified.toInstant(), ZoneId.systemDefault()),
+                checksum == null ? 0 : checksum.longValue());
+    }
+
+    private Stream<DemandEntity> stream(Criteria scope, DemandStatus status, DemandFilter filter) {
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(scope);
+        clauses.addAll(DemandCriteria.of(filter));
+        // No sort: exports are unordered so Mongo never has to buffer the result set
+        Query query = new Query(new Criteria().andOperator(clauses)).cursorBatchSize(STREAM_BATCH_SIZE);
+        if (DemandCriteria.includesArchive(status, filter)) {
+            // Closing the concatenated stream closes both cursors
+            return Stream.concat(mongoTemplate.stream(query, DemandEntity.class),
+                    mongoTemplate.stream(query, DemandEntity.class, DemandArchiveRepository.COLLECTION));
+        }
+        return mongoTemplate.stream(query, DemandEntity.class);
+    }
+
+    private Slice<DemandEntity> findPage(Criteria scope, DemandStatus status, DemandFilter filter, DemandCursor cursor, int limit) {
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(scope);
+        clauses.addAll(DemandCriteria.of(filter));
+        if (cursor != null) {
+            clauses.add(DemandCriteria.after(cursor));
+        }
+
+        // Fetch one extra document to know whether another page exists without a count query
+        Query query = new Query(new Criteria().andOperator(clauses))
+                .with(KEYSET_ORDER)
+                .limit(limit + 1);
+        DemandCriteria.project(query, filter);
+        List<DemandEntity> demands = mongoTemplate.find(query, DemandEntity.class);
+        if (DemandCriteria.includesArchive(status, filter)) {
+            // Both collections are read in keyset order from the same cursor, so their merged head is the exact page
+            List<DemandEntity> merged = new ArrayList<>(demands);
+            merged.addAll(withoutHotCopies(mongoTemplate.find(query, DemandEntity.class, DemandArchiveRepository.COLLECTION)));
+            merged.sort(KEYSET_COMPARATOR);
+            demands = merged.subList(0, Math.min(merged.size(), limit + 1));
+        }
+
+        boolean hasNext = demands.size() > limit;
+        List<DemandEntity> content = hasNext ? demands.subList(0, limit) : demands;
+        return new SliceImpl<>(content, PageRequest.of(0, limit, KEYSET_ORDER), hasNext);
+    }
+
+    // Between the archive's copy and removal a demand is in both collections. The hot document wins wherever it
+    // sorts, since it may have been edited meanwhile and the copy is then removed again; one _id lookup per page
+    private List<DemandEntity> withoutHotCopies(List<DemandEntity> archived) {
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        Query hot = new Query(Criteria.where("demandId").in(archived.stream().map(DemandEntity::getDemandId).collect(Collectors.toList())));
+        hot.fields().include("demandId");
+        Set<String> hotIds = mongoTemplate.find(hot, DemandEntity.class).stream()
+                .map(DemandEntity::getDemandId)
+                .collect(Collectors.toSet());
+        return hotIds.isEmpty() ? archived : archived.stream()
+                .filter(demand -> !hotIds.contains(demand.getDemandId()))
+                .collect(Collectors.toList());
+    }
+}
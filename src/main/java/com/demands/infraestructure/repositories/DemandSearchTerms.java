@@ -0,0 +1,59 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized title words stored in {@code searchTerms} for type-ahead: lower case, accents removed, split on
+ * anything that is not a letter or digit. Queries go through the same normalization, so "Relatório" is found by
+ * "rela" and "RELAT".
+ */
+public final class DemandSearchTerms {
+
+    // Bounds the multikey index entries per demand
+    static final int MAX_TERMS = 32;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private DemandSearchTerms() {
+    }
+
+    /** Sets {@code searchTerms} from the current title; called on every write that replaces the title. */
+    public static void apply(DemandEntity demand) {
+        demand.setSearchTerms(of(demand.getTitle()));
+    }
+
+    public static List<String> of(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : tokens(text)) {
+            if (terms.size() == MAX_TERMS) {
+                break;
+            }
+            terms.add(token);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    public static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,17 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+public interface DemandTimeRollupRepository extends MongoRepository<DemandTimeRollupEntity, String>,
+        DemandTimeRollupRepositoryCustom {
+
+    @Query(value = "{ 'groupId': ?0, 'day': { $gte: ?1, $lte: ?2 } }", sort = "{ 'day': 1 }")
+    List<DemandTimeRollupEntity> findByGroupIdAndDayRange(String groupId, String fromDay, String toDay);
+
+    @Query(value = "{ 'userId': ?0, 'day': { $gte: ?1, $lte: ?2 } }", sort = "{ 'day': 1 }")
+    List<DemandTimeRollupEntity> findByUserIdAndDayRange(String userId, String fromDay, String toDay);
+}
@@ -0,0 +1,31 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import com.demands.infraestructure.entity.DemandTimeTotalEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DemandTimeRollupRepositoryCustom {
+
+    /** Adds each bucket's {@code seconds} to the stored bucket with the same key, creating it when missing. */
+    void incrementAll(Collection<DemandTimeRollupEntity> increments);
+
+    /**
+     * Recomputes {@link DemandTimeTotalEntity} from {@code demand_entity} and the archive in one server-side
+     * aggregation. {@code $out} builds the result in a temporary collection and renames it over the current
+     * totals, so readers see either the old or the new totals, never an empty or partial set. The per-day
+     * rollups are not touched.
+     */
+    void rebuildTotals();
+
+    /**
+     * Compares the per-day rollups, summed per (groupId, userId, type), with the totals in one server-side
+     * aggregation; only the counts come back, so neither collection is loaded into the application.
+     */
+    RollupDrift measureDrift();
+
+    List<DemandTimeTotalEntity> findTotalsByGroupId(String groupId);
+
+    List<DemandTimeTotalEntity> findTotalsByUserId(String userId);
+}
@@ -0,0 +1,114 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import com.demands.infraestructure.entity.DemandTimeTotalEntity;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class DemandTimeRollupRepositoryImpl implements DemandTimeRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementAll(Collection<DemandTimeRollupEntity> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandTimeRollupEntity.class);
+        increments.forEach(increment -> operations.upsert(
+                new Query(Criteria.where("groupId").is(increment.getGroupId())
+                        .and("userId").is(increment.getUserId())
+                        .and("type").is(increment.getType())
+                        .and("day").is(increment.getDay())),
+                new Update().inc("seconds", increment.getSeconds())));
+        operations.execute();
+    }
+
+    @Override
+    public void rebuildTotals() {
+        // Archived demands still count: their tracked time stays in the totals. A demand being archived is in
+        // both collections for a moment, so each _id is counted once, hot copy first
+        Aggregation aggregation = Aggregation.newAggregation(
+                context -> new Document("$unionWith", DemandArchiveRepository.COLLECTION),
+                Aggregation.match(Criteria.where("totalDuration").ne(0)),
+                context -> new Document("$group", new Document("_id", "$_id")
+                        .append("groupId", new Document("$first", "$groupId"))
+                        .append("userId", new Document("$first", "$userId"))
+                        .append("type", new Document("$first", "$type"))
+                        .append("totalDuration", new Document("$first", "$totalDuration"))),
+                context -> new Document("$group", new Document("_id", new Document("groupId", "$groupId")
+                        .append("userId", "$userId")
+                        .append("type", "$type"))
+                        .append("seconds", new Document("$sum", "$totalDuration"))),
+                context -> new Document("$project", new Document("_id", 0)
+                        .append("groupId", "$_id.groupId")
+                        .append("userId", "$_id.userId")
+                        .append("type", "$_id.type")
+                        .append("seconds", 1)),
+                Aggregation.out(mongoTemplate.getCollectionName(DemandTimeTotalEntity.class)))
+                // The per-_id $group holds every demand with tracked time, past the 100 MB stage limit on large stores
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(DemandEntity.class), Document.class);
+    }
+
+    @Override
+    public RollupDrift measureDrift() {
+        // Rollups count as actual and totals as expected; a key missing on either side counts as 0 there
+        Aggregation aggregation = Aggregation.newAggregation(
+                context -> new Document("$group", new Document("_id", bucketKey())
+                        .append("actual", new Document("$sum", "$seconds"))),
+                context -> new Document("$unionWith", new Document("coll", mongoTemplate.getCollectionName(DemandTimeTotalEntity.class))
+                        .append("pipeline", List.of(new Document("$project", new Document("_id", bucketKey())
+                                .append("expected", "$seconds")
+                                .append("total", new Document("$literal", 1)))))),
+                context -> new Document("$group", new Document("_id", "$_id")
+                        .append("actual", new Document("$sum", "$actual"))
+                        .append("expected", new Document("$sum", "$expected"))
+                        .append("total", new Document("$sum", "$total"))),
+                context -> new Document("$project", new Document("total", 1)
+                        .append("drift", new Document("$abs", new Document("$subtract", List.of("$expected", "$actual"))))),
+                context -> new Document("$group", new Document("_id", null)
+                        .append("totals", new Document("$sum", "$total"))
+                        .append("driftedKeys", new Document("$sum", new Document("$cond", List.of(
+                                new Document("$ne", List.of("$drift", 0)), 1, 0))))
+                        .append("driftSeconds", new Document("$sum", "$drift"))))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Document result = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(DemandTimeRollupEntity.class),
+                Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return new RollupDrift(0, 0, 0);
+        }
+        return new RollupDrift(((Number) result.get("totals")).intValue(), ((Number) result.get("driftedKeys")).intValue(),
+                ((Number) result.get("driftSeconds")).longValue());
+    }
+
+    // A missing groupId must group with a null one, as the rollup upserts and the totals $out may write either
+    private static Document bucketKey() {
+        return new Document("groupId", new Document("$ifNull", Arrays.asList("$groupId", null)))
+                .append("userId", new Document("$ifNull", Arrays.asList("$userId", null)))
+                .append("type", new Document("$ifNull", Arrays.asList("$type", null)));
+    }
+
+    @Override
+    public List<DemandTimeTotalEntity> findTotalsByGroupId(String groupId) {
+        return mongoTemplate.find(new Query(Criteria.where("groupId").is(groupId)), DemandTimeTotalEntity.class);
+    }
+
+    @Override
+    public List<DemandTimeTotalEntity> findTotalsByUserId(String userId) {
+        return mongoTemplate.find(new Query(Criteria.where("userId").is(userId)), DemandTimeTotalEntity.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timer state machine as single-roundtrip conditional updates. Each method applies the transition only when
+ * the stored status allows it and returns the document as it was before the update, or null when the demand
+ * does not exist or its status did not match the precondition.
+ */
+public interface DemandTransitionRepository {
+
+    /** OPEN or PAUSED -> IN_PROGRESS, restarting the running interval at {@code now}. */
+    DemandEntity startIfStartable(String demandId, LocalDateTime now);
+
+    /** IN_PROGRESS -> PAUSED, adding the running interval to {@code totalDuration}. */
+    DemandEntity pauseIfRunning(String demandId, LocalDateTime now);
+
+    /** PAUSED -> IN_PROGRESS. */
+    DemandEntity continueIfPaused(String demandId, LocalDateTime now);
+
+    /** Any status but CLOSED -> CLOSED, adding the running interval if the demand was IN_PROGRESS. */
+    DemandEntity closeIfOpen(String demandId, LocalDateTime now);
+
+    /** Replaces the timer window and the duration derived from it, whatever the status. */
+    DemandEntity replaceTimer(String demandId, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now);
+}
@@ -0,0 +1,60 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTransition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class DemandTransitionRepositoryImpl implements DemandTransitionRepository {
+
+    // Callers derive the tracked interval from the previous startTime and status
+    private static final FindAndModifyOptions RETURN_PREVIOUS = FindAndModifyOptions.options().returnNew(false);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public DemandEntity startIfStartable(String demandId, LocalDateTime now) {
+        return apply(demandId, DemandTransition.START, now);
+    }
+
+    @Override
+    public DemandEntity pauseIfRunning(String demandId, LocalDateTime now) {
+        return apply(demandId, DemandTransition.PAUSE, now);
+    }
+
+    @Override
+    public DemandEntity continueIfPaused(String demandId, LocalDateTime now) {
+        return apply(demandId, DemandTransition.CONTINUE, now);
+    }
+
+    @Override
+    public DemandEntity closeIfOpen(String demandId, LocalDateTime now) {
+        return apply(demandId, DemandTransition.CLOSE, now);
+    }
+
+    @Override
+    public DemandEntity replaceTimer(String demandId, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+        Update update = new Update()
+                .set("startTime", startTime)
+                .set("endTime", endTime)
+                .set("totalDuration", Duration.between(startTime, endTime).toSeconds())
+                .set("statusDate", now)
+                // Not a bulk write: a stale stamp would let a bulk read-back claim this write as its own
+                .unset("batchId");
+        return mongoTemplate.findAndModify(new Query(Criteria.where("demandId").is(demandId)), update,
+                RETURN_PREVIOUS, DemandEntity.class);
+    }
+
+    private DemandEntity apply(String demandId, DemandTransition transition, LocalDateTime now) {
+        return mongoTemplate.findAndModify(DemandTransitionUpdates.query(demandId, transition),
+                DemandTransitionUpdates.update(transition, now), RETURN_PREVIOUS, DemandEntity.class);
+    }
+}
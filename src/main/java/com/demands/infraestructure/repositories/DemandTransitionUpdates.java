@@ -0,0 +1,148 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Filter and update for each {@link DemandTransition}, shared by the single-document findAndModify path
+ * and the bulkWrite path. The status precondition lives in the filter, so a transition either applies
+ * atomically or matches nothing.
+ */
+public final class DemandTransitionUpdates {
+
+    private DemandTransitionUpdates() {
+    }
+
+    static Query query(String demandId, DemandTransition transition) {
+        return new Query(Criteria.where("demandId").is(demandId).andOperator(precondition(transition)));
+    }
+
+    static UpdateDefinition update(DemandTransition transition, LocalDateTime now) {
+        return update(transition, now, null);
+    }
+
+    /**
+     * {@link #update} that also stamps {@code batchId}, so a bulk write can tell its own updates apart. Without
+     * a batch the stamp is removed: it must only ever name the write that left the demand as it is.
+     */
+    static UpdateDefinition update(DemandTransition transition, LocalDateTime now, String batchId) {
+        return switch (transition) {
+            case START, CONTINUE -> stamp(run(now), batchId);
+            case PAUSE -> pause(toDate(now), batchId);
+            case CLOSE -> close(toDate(now), batchId);
+        };
+    }
+
+    /**
+     * The state {@link #update} leaves behind, computed in Java from the pre-update document so callers
+     * holding the findAndModify pre-image need no second read.
+     */
+    public static DemandEntity afterTransition(DemandEntity previous, DemandTransition transition, LocalDateTime now) {
+        LocalDateTime at = now.truncatedTo(ChronoUnit.MILLIS);
+        boolean running = isRunning(previous);
+        DemandEntity.DemandEntityBuilder next = previous.toBuilder()
+                .status(transition.getTarget())
+                .statusDate(at);
+        return switch (transition) {
+            case START, CONTINUE -> next.startTime(at).pauseTime(null).build();
+            case PAUSE, CLOSE -> running
+                    ? next.pauseTime(at).totalDuration(previous.getTotalDuration() + elapsedSeconds(previous.getStartTime(), at)).build()
+                    : next.build();
+        };
+    }
+
+    /**
+     * Seconds the demand has accumulated as of {@code now}: the stored total plus the running interval, with
+     * the same truncation a pause at {@code now} would apply.
+     */
+    public static long currentDuration(DemandEntity demand, LocalDateTime now) {
+        return isRunning(demand)
+                ? demand.getTotalDuration() + elapsedSeconds(demand.getStartTime(), now.truncatedTo(ChronoUnit.MILLIS))
+                : demand.getTotalDuration();
+    }
+
+    private static boolean isRunning(DemandEntity demand) {
+        return demand.getStatus() == DemandStatus.IN_PROGRESS && demand.getStartTime() != null;
+    }
+
+    private static Criteria precondition(DemandTransition transition) {
+        return switch (transition) {
+            case START -> Criteria.where("status").in(DemandStatus.OPEN, DemandStatus.PAUSED);
+            case PAUSE -> Criteria.where("status").is(DemandStatus.IN_PROGRESS).and("startTime").ne(null);
+            case CONTINUE -> Criteria.where("status").is(DemandStatus.PAUSED);
+            case CLOSE -> Criteria.where("status").ne(DemandStatus.CLOSED);
+        };
+    }
+
+    private static Update run(LocalDateTime now) {
+        return new Update()
+                .set("startTime", now)
+                .set("pauseTime", null)
+                .set("status", DemandStatus.IN_PROGRESS)
+                .set("statusDate", now);
+    }
+
+    private static Update stamp(Update update, String batchId) {
+        return batchId == null ? update.unset("batchId") : update.set("batchId", batchId);
+    }
+
+    private static UpdateDefinition pause(Date at, String batchId) {
+        Document set = new Document("totalDuration", new Document("$add", List.of("$totalDuration", elapsedSeconds(at))))
+                .append("pauseTime", at)
+                .append("status", DemandStatus.PAUSED.name())
+                .append("statusDate", at);
+        return pipeline(set, batchId);
+    }
+
+    private static UpdateDefinition close(Date at, String batchId) {
+        // All expressions in one $set stage see the pre-update document, so "$status" is the previous status
+        Document running = new Document("$and", List.of(
+                new Document("$eq", List.of("$status", DemandStatus.IN_PROGRESS.name())),
+                new Document("$gt", Arrays.asList("$startTime", null))));
+        Document set = new Document("totalDuration", new Document("$cond", List.of(running,
+                        new Document("$add", List.of("$totalDuration", elapsedSeconds(at))),
+                        "$totalDuration")))
+                .append("pauseTime", new Document("$cond", List.of(running, at, "$pauseTime")))
+                .append("status", DemandStatus.CLOSED.name())
+                .append("statusDate", at);
+        return pipeline(set, batchId);
+    }
+
+    private static UpdateDefinition pipeline(Document set, String batchId) {
+        if (batchId != null) {
+            set.append("batchId", batchId);
+            return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+        }
+        return AggregationUpdate.from(List.of(context -> new Document("$set", set), context -> new Document("$unset", "batchId")));
+    }
+
+    // Same arithmetic as elapsedSeconds, for callers that only see the start and end of an interval
+    public static long elapsedSeconds(LocalDateTime startTime, LocalDateTime endTime) {
+        return (toDate(endTime).getTime() - toDate(startTime).getTime()) / 1000;
+    }
+
+    // Whole seconds between startTime and the given instant, truncated like Duration.getSeconds()
+    private static Document elapsedSeconds(Date at) {
+        return new Document("$toLong", new Document("$divide", List.of(
+                new Document("$subtract", List.of(at, "$startTime")), 1000)));
+    }
+
+    // Same conversion Spring Data applies when it writes a LocalDateTime
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,64 @@
+package com.demands.infraestructure.repositories;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Cheap validator of a demand list: how many demands match, the latest {@code statusDate} among them and the
+ * sum of those {@code statusDate}s. Any write moves a {@code statusDate} and any insert or delete changes the
+ * count, so an unchanged version means an unchanged list. The sum is what catches a write that does not move
+ * the latest date: buffered timer writes stamp their receipt time, which can be older than another demand's.
+ */
+@Value
+public class DemandVersion {
+
+    public static final DemandVersion EMPTY = new DemandVersion(0, null, 0);
+
+    private static final int ETAG_DIGEST_BYTES = 16;
+
+    long count;
+    LocalDateTime lastModified;
+    // Sum of statusDate epoch millis; wraps harmlessly on overflow
+    long checksum;
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** Version of the union of two disjoint lists, e.g. the hot and archived parts of one history. */
+    public DemandVersion plus(DemandVersion other) {
+        LocalDateTime latest = lastModified == null || (other.lastModified != null && other.lastModified.isAfter(lastModified))
+                ? other.lastModified : lastModified;
+        return new DemandVersion(count + other.count, latest, checksum + other.checksum);
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Weak ETag for one response over this list. {@code representation} names everything else that shapes the
+     * body (endpoint, caller, filter, cursor, limit, media type). It is hashed with SHA-256, truncated to 128
+     * bits: a 32-bit {@link String#hashCode()} collides easily enough that two callers' lists could share a tag.
+     */
+    public String etag(String representation) {
+        byte[] digest = sha256().digest(representation.getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + Long.toHexString(count) + "-" + Long.toHexString(lastModifiedMillis())
+                + "-" + Long.toHexString(checksum) + "-" + HexFormat.of().formatHex(digest, 0, ETAG_DIGEST_BYTES) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
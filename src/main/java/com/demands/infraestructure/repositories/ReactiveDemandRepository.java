@@ -0,0 +1,19 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link DemandRepository}, only created with the {@code reactive} profile.
+ */
+@Profile("reactive")
+public interface ReactiveDemandRepository extends ReactiveMongoRepository<DemandEntity, String>, ReactiveDemandRepositoryCustom {
+    Flux<DemandEntity> findByUserId(String userId);
+
+    Flux<DemandEntity> findByStatus(DemandStatus status);
+
+    Flux<DemandEntity> findByUserIdOrUserIdsContaining(String userId, String userIdContaining);
+}
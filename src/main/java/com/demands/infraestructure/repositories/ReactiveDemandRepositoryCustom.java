@@ -0,0 +1,32 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtered finders and timer transitions for {@link ReactiveDemandRepository}. Finders emit in
+ * {@code statusDate} then {@code demandId} order, newest first, and pull documents from the cursor
+ * only as fast as the subscriber requests them.
+ */
+public interface ReactiveDemandRepositoryCustom {
+
+    Flux<DemandEntity> findAllByUserId(String userId, DemandFilter filter);
+
+    Flux<DemandEntity> findAllByStatus(DemandStatus status, DemandFilter filter);
+
+    Flux<DemandEntity> findAllByUserIdOrUserIdsContaining(String userId, DemandFilter filter);
+
+    Flux<DemandEntity> findAllByGroupId(String groupId, DemandFilter filter);
+
+    /**
+     * Same conditional update as {@link DemandTransitionRepository}: emits the document as it was before the
+     * update, or completes empty when the demand does not exist or its status forbids the transition.
+     */
+    Mono<DemandEntity> transition(String demandId, DemandTransition transition, LocalDateTime now);
+}
@@ -0,0 +1,68 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReactiveDemandRepositoryImpl implements ReactiveDemandRepositoryCustom {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+    // Served by the same statusDate-suffixed indexes as the keyset pages, so Mongo never sorts in memory
+    private static final Sort LIST_ORDER = Sort.by(Sort.Direction.DESC, "statusDate", "demandId");
+    private static final FindAndModifyOptions RETURN_PREVIOUS = FindAndModifyOptions.options().returnNew(false);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<DemandEntity> findAllByUserId(String userId, DemandFilter filter) {
+        return find(Criteria.where("userId").is(userId), filter);
+    }
+
+    @Override
+    public Flux<DemandEntity> findAllByStatus(DemandStatus status, DemandFilter filter) {
+        return find(Criteria.where("status").is(status), filter);
+    }
+
+    @Override
+    public Flux<DemandEntity> findAllByUserIdOrUserIdsContaining(String userId, DemandFilter filter) {
+        Criteria scope = new Criteria().orOperator(
+                Criteria.where("userId").is(userId),
+                Criteria.where("userIds").is(userId));
+        return find(scope, filter);
+    }
+
+    @Override
+    public Flux<DemandEntity> findAllByGroupId(String groupId, DemandFilter filter) {
+        return find(Criteria.where("groupId").is(groupId), filter);
+    }
+
+    @Override
+    public Mono<DemandEntity> transition(String demandId, DemandTransition transition, LocalDateTime now) {
+        return reactiveMongoTemplate.findAndModify(DemandTransitionUpdates.query(demandId, transition),
+                DemandTransitionUpdates.update(transition, now), RETURN_PREVIOUS, DemandEntity.class);
+    }
+
+    private Flux<DemandEntity> find(Criteria scope, DemandFilter filter) {
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(scope);
+        clauses.addAll(DemandCriteria.of(filter));
+        Query query = new Query(new Criteria().andOperator(clauses))
+                .with(LIST_ORDER)
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+        return reactiveMongoTemplate.find(query, DemandEntity.class);
+    }
+}
@@ -0,0 +1,14 @@
+package com.demands.infraestructure.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RollupDrift {
+    // (groupId, userId, type) totals in the rebuilt collection
+    private final int totals;
+    // Keys whose per-day rollups do not sum to their total, and the absolute difference summed over them
+    private final int driftedKeys;
+    private final long driftSeconds;
+}
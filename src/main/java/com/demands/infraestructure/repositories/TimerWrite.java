@@ -0,0 +1,35 @@
+package com.demands.infraestructure.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A timer replacement ({@code PUT /demands/{id}/timer}) received at {@code receivedAt} and not yet written.
+ */
+@Getter
+@AllArgsConstructor
+public class TimerWrite {
+
+    private final String demandId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final LocalDateTime receivedAt;
+
+    /** The {@code statusDate} this write stamps: when it was received, at Mongo's millisecond precision. */
+    public LocalDateTime statusDate() {
+        return receivedAt.truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    public long durationSeconds() {
+        return Duration.between(startTime, endTime).toSeconds();
+    }
+
+    /** The later of two writes to the same demand; only that one is worth writing. */
+    public static TimerWrite latest(TimerWrite first, TimerWrite second) {
+        return second.receivedAt.isBefore(first.receivedAt) ? first : second;
+    }
+}
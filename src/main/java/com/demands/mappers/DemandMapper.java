@@ -0,0 +1,74 @@
+package com.demands.mappers;
+
+import com.demands.dtos.ActiveTimerDTO;
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.DemandSuggestionDTO;
+import com.demands.dtos.DemandSummaryDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.repositories.DemandTransitionUpdates;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Generated entity/DTO conversion. Builders are disabled so each element costs one object, filled
+ * through setters, instead of a Lombok builder plus the built object.
+ */
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true),
+        imports = {DemandTransitionUpdates.class, LocalDateTime.class})
+public interface DemandMapper {
+
+    @Mapping(target = "userIds", qualifiedByName = "sameList")
+    @Mapping(target = "elapsedSeconds", expression = "java(DemandTransitionUpdates.currentDuration(demand, LocalDateTime.now()))")
+    DemandDTO toDTO(DemandEntity demand);
+
+    // groupId and endTime are server-owned and never taken from the request body
+    @Mapping(target = "userIds", qualifiedByName = "sameList")
+    @Mapping(target = "groupId", ignore = true)
+    @Mapping(target = "endTime", ignore = true)
+    @Mapping(target = "searchTerms", ignore = true)
+    @Mapping(target = "batchId", ignore = true)
+    DemandEntity toEntity(DemandDTO demandDTO);
+
+    List<DemandDTO> toDTOs(List<DemandEntity> demands);
+
+    @Mapping(target = "elapsedSeconds", expression = "java(DemandTransitionUpdates.currentDuration(demand, LocalDateTime.now()))")
+    ActiveTimerDTO toActiveTimer(DemandEntity demand);
+
+    List<ActiveTimerDTO> toActiveTimers(List<DemandEntity> demands);
+
+    @Mapping(target = "elapsedSeconds", expression = "java(DemandTransitionUpdates.currentDuration(demand, LocalDateTime.now()))")
+    DemandSummaryDTO toSummary(DemandEntity demand);
+
+    DemandSuggestionDTO toSuggestion(DemandEntity demand);
+
+    List<DemandSuggestionDTO> toSuggestions(List<DemandEntity> demands);
+
+    List<DemandEntity> toEntities(List<DemandDTO> demandDTOs);
+
+    Stream<DemandDTO> toDTOs(Stream<DemandEntity> demands);
+
+    // Shares the list like the hand-written builders did instead of copying it per element
+    @Named("sameList")
+    default List<String> sameList(List<String> values) {
+        return values;
+    }
+
+    /**
+     * Read-only view that maps each element when it is read, so a response serialized straight from it
+     * never materializes a second list; each DTO becomes garbage right after it is written.
+     */
+    default List<DemandDTO> toDTOView(List<DemandEntity> demands) {
+        return new MappedList<>(demands, this::toDTO);
+    }
+
+    /** {@link #toDTOView} for {@code view=SUMMARY} pages. */
+    default List<DemandSummaryDTO> toSummaryView(List<DemandEntity> demands) {
+        return new MappedList<>(demands, this::toSummary);
+    }
+}
@@ -0,0 +1,31 @@
+package com.demands.mappers;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Unmodifiable list that applies {@code mapper} on every {@link #get}. Meant to be iterated once,
+ * e.g. by the JSON writer.
+ */
+final class MappedList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<S> source;
+    private final Function<? super S, ? extends T> mapper;
+
+    MappedList(List<S> source, Function<? super S, ? extends T> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public T get(int index) {
+        return mapper.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
@@ -26,8 +26,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
             try {
-                String userId = jwtUtil.extractUserId(token); // Updated to extract userId
-                request.setAttribute("userId", userId); // Updated attribute name
+                JwtPrincipal principal = jwtUtil.extractPrincipal(token); // Parsed once, reused by every handler
+                request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, principal);
+                request.setAttribute("userId", principal.getUserId()); // Updated attribute name
             } catch (IllegalArgumentException e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid JWT token");
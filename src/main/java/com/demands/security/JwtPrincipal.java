@@ -0,0 +1,28 @@
+package com.demands.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Verified identity carried by a JWT. Published once per request by {@link JwtAuthenticationFilter}
+ * under {@link #REQUEST_ATTRIBUTE} so handlers never need to parse the token again.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal {
+
+    public static final String REQUEST_ATTRIBUTE = "principal";
+
+    private final String userId;
+    private final String role;
+    private final String groupId;
+
+    public static JwtPrincipal from(Claims claims) {
+        return new JwtPrincipal(
+                claims.getSubject(), // "sub" claim
+                claims.get("role", String.class),
+                claims.get("groupId", String.class)
+        );
+    }
+}
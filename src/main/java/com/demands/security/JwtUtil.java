@@ -1,25 +1,52 @@
 package com.demands.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
 
-    @Value("${api.security.token.secret}")
-    private String secretKey;
+    // The parser is immutable and thread-safe, so it is built once instead of per call
+    private final JwtParser parser;
+    // Verified claims keyed by the token digest; entries never outlive the token's "exp"
+    private final Cache<String, Claims> claimsCache;
+
+    public JwtUtil(@Value("${api.security.token.secret}") String secretKey,
+                   @Value("${api.security.token.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${api.security.token.cache.ttl:PT5M}") Duration cacheTtl) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey.getBytes(StandardCharsets.UTF_8))
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
+    }
 
     public Claims extractClaims(String token) {
+        String key = digest(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-            return Jwts.parserBuilder()
-                    .setSigningKey(keyBytes)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            claimsCache.put(key, claims);
+            return claims;
         } catch (Exception e) {
             // Log the error for debugging
             System.err.println("JWT validation failed: " + e.getMessage());
@@ -27,6 +54,10 @@ public class JwtUtil {
         }
     }
 
+    public JwtPrincipal extractPrincipal(String token) {
+        return JwtPrincipal.from(extractClaims(token));
+    }
+
     public String extractUserId(String token) {
         return extractClaims(token).getSubject(); // Extracts the "sub" claim
 
@@ -39,4 +70,51 @@ public class JwtUtil {
     public String extractGroupId(String token) {
         return extractClaims(token).get("groupId", String.class); // Extracts the "groupId" claim
     }
-}
\ No newline at end of file
+
+    public CacheStats getClaimsCacheStats() {
+        return claimsCache.stats();
+    }
+
+    // Exposed for metrics binding only
+    public Cache<String, Claims> getClaimsCache() {
+        return claimsCache;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        private final long ttlNanos;
+
+        TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttlNanos;
+            }
+            long remainingNanos = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
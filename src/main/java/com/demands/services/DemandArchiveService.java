@@ -0,0 +1,95 @@
+package com.demands.services;
+
+import com.demands.dtos.ArchiveResultDTO;
+import com.demands.infraestructure.cache.DemandCache;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.locks.LeaseLock;
+import com.demands.infraestructure.repositories.DemandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves demands CLOSED for longer than {@code demands.archive.closed-for} to the archive collection, in bounded
+ * batches read oldest first through {@code status_statusDate}. Nothing about an archived demand changes, so no
+ * events are published; cached pages are evicted because the hot lists lose those demands. History lists
+ * ({@code history=true} or {@code status=CLOSED}) and reads by id still find them. A lease in
+ * {@code demand_locks} keeps concurrent nodes from archiving the same demands; it is renewed after every batch.
+ */
+@Service
+@Slf4j
+public class DemandArchiveService {
+
+    static final String LEASE_NAME = "demand-archive";
+
+    private final DemandRepository demandRepository;
+    private final DemandCache demandCache;
+    private final LeaseLock leaseLock;
+    private final Duration closedFor;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lease;
+
+    public DemandArchiveService(DemandRepository demandRepository,
+                                DemandCache demandCache,
+                                LeaseLock leaseLock,
+                                @Value("${demands.archive.closed-for:P180D}") Duration closedFor,
+                                @Value("${demands.archive.batch-size:1000}") int batchSize,
+                                @Value("${demands.archive.max-batches:10000}") int maxBatches,
+                                @Value("${demands.archive.lease:PT5M}") Duration lease) {
+        this.demandRepository = demandRepository;
+        this.demandCache = demandCache;
+        this.leaseLock = leaseLock;
+        this.closedFor = closedFor;
+        this.batchSize = Math.min(batchSize, DemandBatchService.MAX_BATCH_SIZE);
+        this.maxBatches = maxBatches;
+        this.lease = lease;
+    }
+
+    // Disabled unless demands.archive.cron is set
+    @Scheduled(cron = "${demands.archive.cron:-}")
+    public void scheduledRun() {
+        run();
+    }
+
+    public ArchiveResultDTO run() {
+        long started = System.nanoTime();
+        if (!leaseLock.tryAcquire(LEASE_NAME, lease)) {
+            log.info("Skipping demand archival: lease held by another node");
+            return new ArchiveResultDTO(false, 0, 0, 0);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(closedFor);
+        int batches = 0;
+        long archived = 0;
+        try {
+            while (batches < maxBatches) {
+                List<DemandEntity> candidates = demandRepository.findClosedBefore(cutoff, batchSize);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                List<DemandEntity> moved = demandRepository.archive(candidates);
+                if (moved.isEmpty()) {
+                    // Every candidate was edited while being copied; the next run picks them up again
+                    break;
+                }
+                demandCache.evict(moved);
+                batches++;
+                archived += moved.size();
+                if (!leaseLock.tryAcquire(LEASE_NAME, lease)) {
+                    log.warn("Demand archival lost its lease after {} batches", batches);
+                    break;
+                }
+            }
+        } finally {
+            leaseLock.release(LEASE_NAME);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Archived {} demands closed before {} in {} batches ({} ms)", archived, cutoff, batches, elapsedMillis);
+        return new ArchiveResultDTO(true, batches, archived, elapsedMillis);
+    }
+}
@@ -0,0 +1,176 @@
+package com.demands.services;
+
+import com.demands.dtos.BatchItemResultDTO;
+import com.demands.dtos.TransitionRequestDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.exceptions.InvalidBatchException;
+import com.demands.infraestructure.repositories.BulkTransitionResult;
+import com.demands.infraestructure.repositories.DemandRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Batch variants of the demand lifecycle. Each batch is validated item by item, written with one unordered
+ * bulk operation and answered with one result per item, in request order.
+ */
+@Service
+@Timed("demands.batch")
+@RequiredArgsConstructor
+@Slf4j
+public class DemandBatchService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final DemandRepository demandRepository;
+    private final Validator validator;
+    private final DemandTimeRollupService rollupService;
+    private final DemandEventPublisher eventPublisher;
+
+    public List<BatchItemResultDTO> createDemands(List<DemandEntity> demands) {
+        checkBatchSize(demands);
+        log.info("Creating {} demands in batch", demands.size());
+        // One instant for the whole batch, so its demands share a start time; millisecond precision matches
+        // what Mongo stores. statusDate is still set on insert by auditing
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        BatchItemResultDTO[] results = new BatchItemResultDTO[demands.size()];
+        List<DemandEntity> valid = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < demands.size(); i++) {
+            DemandEntity demand = demands.get(i);
+            Set<ConstraintViolation<DemandEntity>> violations = validator.validate(demand);
+            if (!violations.isEmpty()) {
+                String message = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "));
+                results[i] = result(i, null, HttpStatus.BAD_REQUEST, message);
+                continue;
+            }
+            DemandService.prepareForInsert(demand, now);
+            demand.setDemandId(new ObjectId().toHexString());
+            demand.setStatusDate(now);
+            valid.add(demand);
+            positions.add(i);
+        }
+
+        Map<Integer, BulkWriteError> failures = demandRepository.insertAll(valid);
+        for (int j = 0; j < valid.size(); j++) {
+            int index = positions.get(j);
+            String demandId = valid.get(j).getDemandId();
+            if (failures.containsKey(j)) {
+                // The server message names collections and indexes; it is logged, not returned
+                BulkWriteError error = failures.get(j);
+                log.warn("Batch insert of item {} failed with code {}: {}", index, error.getCode(), error.getMessage());
+                results[index] = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                        ? result(index, null, HttpStatus.CONFLICT, "Já existe uma demanda com estes dados.")
+                        : result(index, null, HttpStatus.INTERNAL_SERVER_ERROR, "Não foi possível criar a demanda.");
+            } else {
+                results[index] = result(index, demandId, HttpStatus.CREATED, "Demanda criada com sucesso.");
+                eventPublisher.publish(DemandEventType.CREATED, valid.get(j));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public List<BatchItemResultDTO> transitionDemands(List<TransitionRequestDTO> requests) {
+        checkBatchSize(requests);
+        log.info("Applying {} demand transitions in batch", requests.size());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        BatchItemResultDTO[] results = new BatchItemResultDTO[requests.size()];
+        Map<String, TransitionRequestDTO> accepted = new LinkedHashMap<>();
+        Map<String, Integer> positions = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransitionRequestDTO request = requests.get(i);
+            if (request.getDemandId() == null || request.getAction() == null) {
+                results[i] = result(i, request.getDemandId(), HttpStatus.BAD_REQUEST, "Os campos demandId e action são obrigatórios.");
+            } else if (accepted.containsKey(request.getDemandId())) {
+                // Unordered bulk writes give no ordering between two updates of the same demand
+                results[i] = result(i, request.getDemandId(), HttpStatus.BAD_REQUEST, "Demanda repetida no lote.");
+            } else {
+                accepted.put(request.getDemandId(), request);
+                positions.put(request.getDemandId(), i);
+            }
+        }
+
+        BulkTransitionResult outcome = demandRepository.transitionAll(accepted.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getAction())), now);
+        positions.forEach((demandId, index) -> {
+            if (outcome.getApplied().containsKey(demandId)) {
+                results[index] = result(index, demandId, HttpStatus.OK, "Transição aplicada com sucesso.");
+            } else if (outcome.getExisting().contains(demandId)) {
+                results[index] = result(index, demandId, HttpStatus.CONFLICT, "A demanda não está em um status que permita a transição.");
+            } else {
+                results[index] = result(index, demandId, HttpStatus.NOT_FOUND, "Demanda não encontrada");
+            }
+        });
+        // A closed demand was running only if the close stamped its pauseTime with this batch's instant
+        List<DemandEntity> stoppedWhileRunning = outcome.getApplied().values().stream()
+                .filter(demand -> demand.getStatus() == DemandStatus.PAUSED
+                        || (demand.getStatus() == DemandStatus.CLOSED && now.equals(demand.getPauseTime())))
+                .collect(Collectors.toList());
+        rollupService.recordIntervals(stoppedWhileRunning, now);
+        outcome.getApplied().forEach((demandId, demand) ->
+                eventPublisher.publish(eventType(accepted.get(demandId).getAction()), demand));
+        return Arrays.asList(results);
+    }
+
+    public List<BatchItemResultDTO> deleteDemands(List<String> demandIds) {
+        checkBatchSize(demandIds);
+        log.info("Deleting {} demands in batch", demandIds.size());
+        List<DemandEntity> existing = demandRepository.deleteAllExisting(new HashSet<>(demandIds));
+        eventPublisher.publishAll(DemandEventType.DELETED, existing);
+        Set<String> deleted = existing.stream().map(DemandEntity::getDemandId).collect(Collectors.toSet());
+        List<BatchItemResultDTO> results = new ArrayList<>(demandIds.size());
+        for (int i = 0; i < demandIds.size(); i++) {
+            String demandId = demandIds.get(i);
+            // Only the first occurrence deleted it; a repeat finds nothing left, as it would one request later
+            results.add(deleted.remove(demandId)
+                    ? result(i, demandId, HttpStatus.OK, "Demanda deletada com sucesso.")
+                    : result(i, demandId, HttpStatus.NOT_FOUND, "Demanda não encontrada"));
+        }
+        return results;
+    }
+
+    private static void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBatchException("O lote não pode ser vazio.");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchException("O lote excede o limite de " + MAX_BATCH_SIZE + " itens.");
+        }
+    }
+
+    private static DemandEventType eventType(DemandTransition transition) {
+        return switch (transition) {
+            case START -> DemandEventType.STARTED;
+            case PAUSE -> DemandEventType.PAUSED;
+            case CONTINUE -> DemandEventType.CONTINUED;
+            case CLOSE -> DemandEventType.CLOSED;
+        };
+    }
+
+    private static BatchItemResultDTO result(int index, String demandId, HttpStatus status, String message) {
+        return new BatchItemResultDTO(index, demandId, status.value(), message);
+    }
+}
@@ -0,0 +1,274 @@
+package com.demands.services;
+
+import com.demands.dtos.DemandEventDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.events.DemandChangedEvent;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.security.JwtPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans demand changes out to Server-Sent Event subscribers. Emitters are servlet-async, so an idle subscriber
+ * holds no thread. Each subscriber has a bounded queue drained by a small shared sender pool, one drain at a
+ * time per subscriber, so publishers never touch the network and a slow client only delays itself. A client
+ * whose queue fills up, or whose write has been blocked for longer than {@code demands.events.send-timeout},
+ * is dropped; it reconnects and reloads.
+ * Subscribers see their own demands (as owner or in userIds); MANAGER and ADMIN also see their group's.
+ */
+@Component
+@Slf4j
+public class DemandEventHub {
+
+    private final Map<String, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byGroup = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final long timeoutMillis;
+    private final int queueSize;
+    private final long sendTimeoutNanos;
+
+    public DemandEventHub(@Value("${demands.events.timeout:PT30M}") Duration timeout,
+                          @Value("${demands.events.send-threads:4}") int sendThreads,
+                          @Value("${demands.events.queue-size:256}") int queueSize,
+                          @Value("${demands.events.send-timeout:PT10S}") Duration sendTimeout) {
+        this.timeoutMillis = timeout.toMillis();
+        this.queueSize = queueSize;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        AtomicInteger threads = new AtomicInteger();
+        // Each subscriber has at most one drain queued, so the pool's own queue is bounded by the subscriber count
+        this.senders = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "demand-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(JwtPrincipal principal) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        boolean manager = "MANAGER".equals(principal.getRole()) || "ADMIN".equals(principal.getRole());
+        String groupId = manager ? principal.getGroupId() : null;
+        Subscriber subscriber = new Subscriber(emitter, principal.getUserId(), groupId);
+        register(byUser, principal.getUserId(), subscriber);
+        if (groupId != null) {
+            register(byGroup, groupId, subscriber);
+        }
+        emitter.onCompletion(subscriber::ended);
+        emitter.onTimeout(subscriber::ended);
+        emitter.onError(error -> subscriber.ended());
+        return emitter;
+    }
+
+    @EventListener
+    public void onDemandChanged(DemandChangedEvent event) {
+        if (event.getType() == DemandEventType.CLEARED) {
+            SseEmitter.SseEventBuilder cleared = SseEmitter.event()
+                    .name(event.getType().name())
+                    .data(DemandEventDTO.builder().type(event.getType()).build(), MediaType.APPLICATION_JSON);
+            all().forEach(subscriber -> subscriber.offer(cleared));
+            return;
+        }
+        DemandEntity demand = event.getDemand();
+        Set<Subscriber> recipients = new LinkedHashSet<>();
+        if (demand.getUserId() != null) {
+            addAll(recipients, byUser.get(demand.getUserId()));
+        }
+        if (demand.getUserIds() != null) {
+            demand.getUserIds().stream()
+                    .filter(userId -> userId != null)
+                    .forEach(userId -> addAll(recipients, byUser.get(userId)));
+        }
+        if (demand.getGroupId() != null) {
+            addAll(recipients, byGroup.get(demand.getGroupId()));
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+        DemandEventDTO payload = DemandEventDTO.builder()
+                .type(event.getType())
+                .demandId(demand.getDemandId())
+                .status(demand.getStatus())
+                .startTime(demand.getStartTime())
+                .pauseTime(demand.getPauseTime())
+                .totalDuration(demand.getTotalDuration())
+                .statusDate(demand.getStatusDate())
+                .build();
+        // Built once: the same event is written to every recipient
+        SseEmitter.SseEventBuilder message = SseEmitter.event()
+                .name(event.getType().name())
+                .data(payload, MediaType.APPLICATION_JSON);
+        recipients.forEach(subscriber -> subscriber.offer(message));
+    }
+
+    // Comments keep proxies from closing idle streams and surface dead connections
+    @Scheduled(fixedDelayString = "${demands.events.heartbeat:PT30S}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : all()) {
+            if (subscriber.stalled(now)) {
+                log.debug("Dropping demand event subscriber {}: write blocked for over {} ms",
+                        subscriber.userId, Duration.ofNanos(sendTimeoutNanos).toMillis());
+                subscriber.close();
+            } else {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return byUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    // Overridden by tests to observe writes
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private Set<Subscriber> all() {
+        Set<Subscriber> all = new LinkedHashSet<>();
+        byUser.values().forEach(all::addAll);
+        byGroup.values().forEach(all::addAll);
+        return all;
+    }
+
+    private static void register(Map<String, Set<Subscriber>> index, String key, Subscriber subscriber) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    }
+
+    private static void unregister(Map<String, Set<Subscriber>> index, String key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static void addAll(Set<Subscriber> recipients, Collection<Subscriber> subscribers) {
+        if (subscribers != null) {
+            recipients.addAll(subscribers);
+        }
+    }
+
+    /**
+     * One connection and its pending events. Only the drain running on the sender pool writes to or completes
+     * the emitter, so a blocked write never holds up the publisher or the heartbeat.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String userId;
+        private final String groupId;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // System.nanoTime() when the current write started, 0 when no write is in progress
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, String userId, String groupId) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.groupId = groupId;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                log.debug("Dropping demand event subscriber {}: {} events pending", userId, queueSize);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        boolean stalled(long now) {
+            long since = sendingSince;
+            return since != 0 && now - since > sendTimeoutNanos;
+        }
+
+        // Stops queueing at once; the emitter is completed by the drain, after any write in progress
+        void close() {
+            closed = true;
+            detach();
+            pending.clear();
+            schedule();
+        }
+
+        // The container ended the stream: nothing left to complete
+        void ended() {
+            closed = true;
+            detach();
+            pending.clear();
+        }
+
+        private void detach() {
+            unregister(byUser, userId, this);
+            if (groupId != null) {
+                unregister(byGroup, groupId, this);
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException ex) {
+                        log.debug("Dropping demand event subscriber {}: {}", userId, ex.getMessage());
+                        closed = true;
+                        detach();
+                    } finally {
+                        sendingSince = 0;
+                    }
+                }
+                if (closed) {
+                    pending.clear();
+                    emitter.complete();
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before draining was reset still needs a drain
+            if (!closed && !pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
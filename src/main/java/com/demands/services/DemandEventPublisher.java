@@ -0,0 +1,55 @@
+package com.demands.services;
+
+import com.demands.infraestructure.cache.DemandCache;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.events.DemandChangedEvent;
+import com.demands.infraestructure.events.DemandEventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Publishes demand changes made by this node. When {@code demands.events.source} is {@code change-stream}
+ * the MongoDB change stream is the single source of events, so local publishing is switched off.
+ * Every local mutation passes through here, so cached reads are evicted here too, whatever the event source.
+ */
+@Component
+public class DemandEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final DemandCache demandCache;
+    private final boolean enabled;
+
+    public DemandEventPublisher(ApplicationEventPublisher applicationEventPublisher, DemandCache demandCache,
+                                @Value("${demands.events.source:local}") String source) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.demandCache = demandCache;
+        this.enabled = !"change-stream".equalsIgnoreCase(source);
+    }
+
+    public void publish(DemandEventType type, DemandEntity demand) {
+        demandCache.evict(demand);
+        publishEvent(type, demand);
+    }
+
+    public void publishAll(DemandEventType type, Collection<DemandEntity> demands) {
+        demandCache.evict(demands);
+        demands.forEach(demand -> publishEvent(type, demand));
+    }
+
+    /** Every demand was deleted: drops all cached reads and tells every subscriber. */
+    public void publishCleared() {
+        demandCache.evictAll();
+        if (enabled) {
+            applicationEventPublisher.publishEvent(DemandChangedEvent.cleared());
+        }
+    }
+
+    private void publishEvent(DemandEventType type, DemandEntity demand) {
+        if (enabled) {
+            applicationEventPublisher.publishEvent(DemandChangedEvent.of(type, demand));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.demands.services;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes demands to an output stream one element at a time, so memory stays flat regardless of how
+ * many demands the source stream yields.
+ */
+@Service
+public class DemandExportService {
+
+    private static final String CSV_HEADER = "demandId,userId,userIds,title,description,status,type,startDate,endDate,"
+            + "startTime,pauseTime,totalDuration,autoStart,statusDate";
+
+    // Matches the Mongo cursor batch: each batch read is pushed through (and past gzip) before the next one
+    static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter rowWriter;
+
+    public DemandExportService(ObjectMapper objectMapper) {
+        // Flushing is batched below, not done after every row
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void write(Stream<DemandDTO> demands, ExportFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case NDJSON -> writeNdjson(demands, out);
+            case CSV -> writeCsv(demands, out);
+        }
+    }
+
+    private void writeNdjson(Stream<DemandDTO> demands, OutputStream out) throws IOException {
+        JsonGenerator generator = rowWriter.createGenerator(out);
+        // The servlet owns the response stream; only flush it
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows are separated by the newline written below, not by the default space between root values
+        generator.setRootValueSeparator(null);
+        Iterator<DemandDTO> iterator = demands.iterator();
+        for (int written = 1; iterator.hasNext(); written++) {
+            rowWriter.writeValue(generator, iterator.next());
+            generator.writeRaw('\n');
+            if (written % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+        generator.close();
+    }
+
+    private void writeCsv(Stream<DemandDTO> demands, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Iterator<DemandDTO> iterator = demands.iterator();
+        for (int written = 1; iterator.hasNext(); written++) {
+            DemandDTO demand = iterator.next();
+            writer.write(String.join(",",
+                    csv(demand.getDemandId()),
+                    csv(demand.getUserId()),
+                    csv(demand.getUserIds() == null ? null : String.join(";", demand.getUserIds())),
+                    csv(demand.getTitle()),
+                    csv(demand.getDescription()),
+                    csv(demand.getStatus()),
+                    csv(demand.getType()),
+                    csv(demand.getStartDate()),
+                    csv(demand.getEndDate()),
+                    csv(demand.getStartTime()),
+                    csv(demand.getPauseTime()),
+                    String.valueOf(demand.getTotalDuration()),
+                    String.valueOf(demand.isAutoStart()),
+                    csv(demand.getStatusDate())));
+            writer.write('\n');
+            if (written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
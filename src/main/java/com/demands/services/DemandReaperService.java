@@ -0,0 +1,133 @@
+package com.demands.services;
+
+import com.demands.dtos.ReaperResultDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.locks.LeaseLock;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.BulkTransitionResult;
+import com.demands.infraestructure.repositories.DemandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Pauses (or closes) demands left IN_PROGRESS for longer than {@code demands.reaper.idle-threshold}. Candidates
+ * are read as ids only, through the partial {@code active_startTime} index, and transitioned in bounded batches
+ * with one unordered bulk write each. A lease in {@code demand_locks} keeps concurrent nodes from reaping the
+ * same demands; it is renewed after every batch.
+ */
+@Service
+@Slf4j
+public class DemandReaperService {
+
+    static final String LEASE_NAME = "demand-reaper";
+
+    private final DemandRepository demandRepository;
+    private final DemandTimeRollupService rollupService;
+    private final DemandEventPublisher eventPublisher;
+    private final DemandMetrics metrics;
+    private final LeaseLock leaseLock;
+    private final Duration idleThreshold;
+    private final DemandTransition action;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lease;
+
+    public DemandReaperService(DemandRepository demandRepository,
+                               DemandTimeRollupService rollupService,
+                               DemandEventPublisher eventPublisher,
+                               DemandMetrics metrics,
+                               LeaseLock leaseLock,
+                               @Value("${demands.reaper.idle-threshold:PT12H}") Duration idleThreshold,
+                               @Value("${demands.reaper.action:pause}") String action,
+                               @Value("${demands.reaper.batch-size:1000}") int batchSize,
+                               @Value("${demands.reaper.max-batches:10000}") int maxBatches,
+                               @Value("${demands.reaper.lease:PT5M}") Duration lease) {
+        this.demandRepository = demandRepository;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.leaseLock = leaseLock;
+        this.idleThreshold = idleThreshold;
+        this.action = DemandTransition.valueOf(action.toUpperCase(Locale.ROOT));
+        if (this.action != DemandTransition.PAUSE && this.action != DemandTransition.CLOSE) {
+            throw new IllegalArgumentException("demands.reaper.action must be pause or close, got " + action);
+        }
+        this.batchSize = Math.min(batchSize, DemandBatchService.MAX_BATCH_SIZE);
+        this.maxBatches = maxBatches;
+        this.lease = lease;
+    }
+
+    // Disabled unless demands.reaper.cron is set
+    @Scheduled(cron = "${demands.reaper.cron:-}")
+    public void scheduledRun() {
+        run();
+    }
+
+    public ReaperResultDTO run() {
+        long started = System.nanoTime();
+        if (!leaseLock.tryAcquire(LEASE_NAME, lease)) {
+            log.info("Skipping demand reaper: lease held by another node");
+            return new ReaperResultDTO(false, 0, 0, 0);
+        }
+        int batches = 0;
+        long reaped = 0;
+        try {
+            while (batches < maxBatches) {
+                int applied = reapBatch();
+                if (applied == 0) {
+                    // Nothing left, or every candidate changed under us: either way the next run picks it up
+                    break;
+                }
+                batches++;
+                reaped += applied;
+                if (!leaseLock.tryAcquire(LEASE_NAME, lease)) {
+                    log.warn("Demand reaper lost its lease after {} batches", batches);
+                    break;
+                }
+            }
+        } finally {
+            leaseLock.release(LEASE_NAME);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Demand reaper {} {} idle demands in {} batches ({} ms)",
+                action == DemandTransition.PAUSE ? "paused" : "closed", reaped, batches, elapsedMillis);
+        return new ReaperResultDTO(true, batches, reaped, elapsedMillis);
+    }
+
+    private int reapBatch() {
+        // Millisecond precision matches what Mongo stores, so the read-back can match on this stamp
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<String> candidates = demandRepository.findRunningStartedBefore(now.minus(idleThreshold), batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Map<String, DemandTransition> transitions = new LinkedHashMap<>();
+        candidates.forEach(demandId -> transitions.put(demandId, action));
+        BulkTransitionResult outcome = demandRepository.transitionAll(transitions, now);
+
+        // A closed demand was running only if the close stamped its pauseTime with this batch's instant
+        List<DemandEntity> stoppedWhileRunning = outcome.getApplied().values().stream()
+                .filter(demand -> demand.getStatus() == DemandStatus.PAUSED || now.equals(demand.getPauseTime()))
+                .collect(Collectors.toList());
+        rollupService.recordIntervals(stoppedWhileRunning, now);
+        eventPublisher.publishAll(action == DemandTransition.PAUSE ? DemandEventType.PAUSED : DemandEventType.CLOSED,
+                outcome.getApplied().values());
+        metrics.transitions(action, DemandMetrics.Outcome.APPLIED, outcome.getApplied().size());
+        metrics.transitions(action, DemandMetrics.Outcome.CONFLICT, candidates.size() - outcome.getApplied().size());
+        return outcome.getApplied().size();
+    }
+}
@@ -1,24 +1,51 @@
 package com.demands.services;
 
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.cache.DemandCache;
+import com.demands.infraestructure.cache.DemandPageKey;
 import com.demands.infraestructure.entity.DemandEntity;
 import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.exceptions.DemandConflictException;
 import com.demands.infraestructure.exceptions.DemandNotFound;
 import com.demands.infraestructure.exceptions.InvalidStatusException;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.DemandCursor;
 import com.demands.infraestructure.repositories.DemandRepository;
+import com.demands.infraestructure.repositories.DemandSearchTerms;
+import com.demands.infraestructure.repositories.DemandTransitionUpdates;
+import com.demands.infraestructure.repositories.DemandVersion;
+import com.demands.infraestructure.repositories.TimerWrite;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed("demands.service")
 @RequiredArgsConstructor
 @Slf4j
 public class DemandService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    // Relevance pages are read by offset; deeper pages cost a full rescan of the skipped matches
+    public static final int MAX_SEARCH_OFFSET = 1000;
+    public static final int MAX_SUGGESTIONS = 20;
+
     private final DemandRepository demandRepository;
+    private final DemandTimeRollupService rollupService;
+    private final DemandEventPublisher eventPublisher;
+    private final DemandCache demandCache;
+    private final DemandMetrics demandMetrics;
+    private final DemandTimerWriteBehind timerWriteBehind;
 
 //    public List<DemandEntity> getDemandsByUserId(String userId) {
 //        log.info("Fetching demands for userId: {}", userId);
@@ -31,7 +58,7 @@ public class DemandService {
 //    }
 //
     public List<DemandEntity> getAllDemands() {
-        log.info("Fetching all demands");
+        log.debug("Fetching all demands");
         return demandRepository.findAll();
     }
 
@@ -39,8 +66,8 @@ public class DemandService {
         return demandRepository.findByUserId(userEmail);
     }
 
-    public List<DemandEntity> getDemandsByStatus(String status) {
-        log.info("Fetching demands with status: {}", status);
+    public Slice<DemandEntity> getDemandsByStatus(String status, DemandFilter filter, String cursor, int limit) {
+        log.debug("Fetching demands with status: {}", status);
         DemandStatus demandStatus;
         try {
             demandStatus = DemandStatus.valueOf(status.toUpperCase());
@@ -48,155 +75,266 @@ public class DemandService {
             log.error("Invalid status: {}", status);
             throw new InvalidStatusException("Status incorreto: " + status);
         }
-        List<DemandEntity> demands = demandRepository.findByStatus(demandStatus);
-        if (demands.isEmpty()) {
+        Slice<DemandEntity> demands = demandRepository.findPageByStatus(demandStatus, filter, decodeCursor(cursor), pageSize(limit));
+        if (cursor == null && demands.isEmpty()) {
             log.warn("No demands found with status: {}", status);
             throw new DemandNotFound("Não existem demandas com o status informado.");
         }
         return demands;
     }
 
-    public List<DemandEntity> getDemandsByAnyUserId(String userId) {
-        log.info("Fetching demands for any userId: {}", userId);
-        return demandRepository.findByUserIdOrUserIdsContaining(userId, userId);
+    /** {@code version} is the list version the caller's ETag was built from; see {@link DemandPageKey}. */
+    public Slice<DemandEntity> getDemandsByAnyUserId(String userId, DemandFilter filter, String cursor, int limit,
+                                                     DemandVersion version) {
+        log.debug("Fetching demands for any userId: {}", userId);
+        DemandPageKey key = DemandPageKey.of("anyUserId", userId, filter, cursor, pageSize(limit), version);
+        return demandCache.getPage(key, () ->
+                demandRepository.findPageByUserIdOrUserIdsContaining(userId, filter, decodeCursor(cursor), pageSize(limit)));
     }
 
     public DemandEntity createDemand(DemandEntity demand) {
-        log.info("Creating new demand: {}", demand);
-        demand.setStartTime(LocalDateTime.now());
-        demand.setTotalDuration(0);
-        demand.setStatus(DemandStatus.OPEN);
+        prepareForInsert(demand, LocalDateTime.now());
         DemandEntity createdDemand = demandRepository.save(demand);
-
-        if (demand.isAutoStart()) {
-            startDemand(createdDemand.getDemandId());
-        }
-
+        // The id is only known once saved, and the entity itself carries the user's description
+        log.info("Created demand with id: {}", createdDemand.getDemandId());
+        eventPublisher.publish(DemandEventType.CREATED, createdDemand);
         return createdDemand;
     }
 
+    static void prepareForInsert(DemandEntity demand, LocalDateTime now) {
+        DemandSearchTerms.apply(demand);
+        demand.setStartTime(now);
+        demand.setTotalDuration(0);
+        // Auto-started demands are inserted already running instead of being started in a second write
+        demand.setStatus(demand.isAutoStart() ? DemandStatus.IN_PROGRESS : DemandStatus.OPEN);
+    }
+
     public void startDemand(String demandId) {
         log.info("Starting demand with id: {}", demandId);
-        DemandEntity demand = demandRepository.findById(demandId)
-                .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
-        demand.setStartTime(LocalDateTime.now());
-        demand.setPauseTime(null);
-        demand.setStatus(DemandStatus.IN_PROGRESS);
-        demandRepository.save(demand);
+        LocalDateTime now = LocalDateTime.now();
+        DemandEntity previous = demandRepository.startIfStartable(demandId, now);
+        if (previous == null) {
+            throw transitionRejected(demandId, DemandTransition.START, "Não é possível iniciar uma demanda que já está em andamento ou encerrada.");
+        }
+        publishTransition(DemandEventType.STARTED, previous, DemandTransition.START, now);
     }
 
     public void pauseDemand(String demandId) {
         log.info("Pausing demand with id: {}", demandId);
-        DemandEntity demand = demandRepository.findById(demandId)
-                .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
-
-        if (demand.getStatus() == DemandStatus.CLOSED) {
-            log.error("Cannot pause a closed demand with id: {}", demandId);
-            throw new IllegalStateException("Não é possível pausar uma demanda que já foi encerrada.");
-        }
-
-        if (demand.getStartTime() == null) {
-            log.error("Cannot pause demand with id: {} because startTime is null", demandId);
-            throw new IllegalStateException("Não é possível pausar uma demanda sem um horário de início.");
+        LocalDateTime now = LocalDateTime.now();
+        DemandEntity previous = demandRepository.pauseIfRunning(demandId, now);
+        if (previous == null) {
+            throw transitionRejected(demandId, DemandTransition.PAUSE, "Não é possível pausar uma demanda que não está em andamento.");
         }
-
-        demand.setPauseTime(LocalDateTime.now());
-        long duration = Duration.between(demand.getStartTime(), demand.getPauseTime()).getSeconds();
-        demand.setTotalDuration(demand.getTotalDuration() + duration);
-        demand.setStatus(DemandStatus.PAUSED);
-        demandRepository.save(demand);
+        rollupService.recordInterval(previous, now);
+        publishTransition(DemandEventType.PAUSED, previous, DemandTransition.PAUSE, now);
     }
 
     public void continueDemand(String demandId) {
         log.info("Continuing demand with id: {}", demandId);
-        DemandEntity demand = demandRepository.findById(demandId)
-                .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
-        if (demand.getStatus() == DemandStatus.CLOSED) {
-            log.error("Cannot continue a closed demand with id: {}", demandId);
-            throw new IllegalStateException("Não é possível continuar uma demanda que já foi encerrada.");
+        LocalDateTime now = LocalDateTime.now();
+        DemandEntity previous = demandRepository.continueIfPaused(demandId, now);
+        if (previous == null) {
+            throw transitionRejected(demandId, DemandTransition.CONTINUE, "Não é possível continuar uma demanda que não está pausada.");
         }
-        demand.setStartTime(LocalDateTime.now());
-        demand.setPauseTime(null);
-        demand.setStatus(DemandStatus.IN_PROGRESS);
-        demandRepository.save(demand);
+        publishTransition(DemandEventType.CONTINUED, previous, DemandTransition.CONTINUE, now);
     }
 
     public void closeDemand(String demandId) {
         log.info("Closing demand with id: {}", demandId);
-        DemandEntity demand = demandRepository.findById(demandId)
-                .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
-        if (demand.getPauseTime() == null) {
-            demand.setPauseTime(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        DemandEntity previous = demandRepository.closeIfOpen(demandId, now);
+        if (previous == null) {
+            throw transitionRejected(demandId, DemandTransition.CLOSE, "Não é possível encerrar uma demanda que já foi encerrada.");
+        }
+        if (previous.getStatus() == DemandStatus.IN_PROGRESS) {
+            rollupService.recordInterval(previous, now);
+        }
+        publishTransition(DemandEventType.CLOSED, previous, DemandTransition.CLOSE, now);
+    }
+
+    private void publishTransition(DemandEventType type, DemandEntity previous, DemandTransition transition, LocalDateTime now) {
+        demandMetrics.transition(transition, DemandMetrics.Outcome.APPLIED);
+        eventPublisher.publish(type, DemandTransitionUpdates.afterTransition(previous, transition, now));
+    }
+
+    // A conditional update matched nothing: either the demand is gone or its status forbids the transition
+    private RuntimeException transitionRejected(String demandId, DemandTransition transition, String message) {
+        if (!demandRepository.existsById(demandId)) {
+            demandMetrics.transition(transition, DemandMetrics.Outcome.NOT_FOUND);
+            return new DemandNotFound("Demanda não encontrada");
         }
-        long duration = Duration.between(demand.getStartTime(), demand.getPauseTime()).getSeconds();
-        demand.setTotalDuration(demand.getTotalDuration() + duration);
-        demand.setStatus(DemandStatus.CLOSED);
-        demandRepository.save(demand);
+        demandMetrics.transition(transition, DemandMetrics.Outcome.CONFLICT);
+        log.warn("Transition rejected for demand with id: {}", demandId);
+        return new DemandConflictException(message);
     }
 
     public void deleteDemand(String demandId) {
         log.info("Deleting demand with id: {}", demandId);
         DemandEntity demand = demandRepository.findById(demandId)
+                .or(() -> demandRepository.findArchivedById(demandId))
                 .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
         demandRepository.delete(demand);
+        demandRepository.deleteArchived(demandId);
+        eventPublisher.publish(DemandEventType.DELETED, demand);
         log.info("Demand with id {} deleted successfully.", demandId);
     }
 
     public DemandEntity getDemand(String demandId) {
-        log.info("Fetching demand with id: {}", demandId);
-        return demandRepository.findById(demandId)
-                .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
+        log.debug("Fetching demand with id: {}", demandId);
+        // Closed demands moved to the archive are still readable by id
+        return demandCache.getDemand(demandId, () -> demandRepository.findById(demandId)
+                .or(() -> demandRepository.findArchivedById(demandId))
+                .orElseThrow(() -> new DemandNotFound("Demanda não encontrada")));
+    }
+
+    /**
+     * The demand if the caller may read it: they own it, take part in it, or manage its group. Otherwise it is
+     * reported missing, like an unknown id, so ids cannot be probed for demands of other users.
+     */
+    public DemandEntity getVisibleDemand(String demandId, String userId, String role, String groupId) {
+        DemandEntity demand = getDemand(demandId);
+        if (!canSee(demand, userId, role, groupId)) {
+            log.warn("User {} asked for demand {} outside their scope", userId, demandId);
+            throw new DemandNotFound("Demanda não encontrada");
+        }
+        return demand;
+    }
+
+    // The same scope as the lists: own and shared demands, plus the whole group for managers and admins
+    static boolean canSee(DemandEntity demand, String userId, String role, String groupId) {
+        if (userId != null && (userId.equals(demand.getUserId())
+                || (demand.getUserIds() != null && demand.getUserIds().contains(userId)))) {
+            return true;
+        }
+        String visibleGroup = visibleGroup(role, groupId);
+        return visibleGroup != null && visibleGroup.equals(demand.getGroupId());
     }
 
     public void updateDemand(DemandEntity demand) {
-        log.info("Updating demand: {}", demand);
+        log.info("Updating demand with id: {}", demand.getDemandId());
         DemandEntity existingDemand = demandRepository.findById(demand.getDemandId())
                 .orElseThrow(() -> new DemandNotFound("Demanda não encontrada"));
-        demandRepository.save(demand);
+        // The publish below evicts the new owners' pages; users removed by the update still list the old state
+        demandCache.evict(existingDemand);
+        DemandSearchTerms.apply(demand);
+        // save replaces the document, so a null stamp removes the one left by an earlier bulk write
+        demand.setBatchId(null);
+        eventPublisher.publish(DemandEventType.UPDATED, demandRepository.save(demand));
     }
 
     public void deleteAllDemands() {
         log.info("Deleting all demands");
         demandRepository.deleteAll();
+        demandRepository.deleteAllArchived();
+        eventPublisher.publishCleared();
     }
 
-    public void updateDemandTimer(String demandId, String startTime, String endTime) {
-        DemandEntity demand = getDemand(demandId);
-        if (demand == null) {
-            throw new DemandNotFound("Demanda não encontrada.");
-        }
-
+    /**
+     * Replaces the demand's timer. Returns true when the update was buffered for a later bulk write, false when
+     * it was written before returning.
+     */
+    public boolean updateDemandTimer(String demandId, String startTime, String endTime) {
         // Convert String to LocalDateTime
-        demand.setStartTime(LocalDateTime.parse(startTime));
-        demand.setEndTime(LocalDateTime.parse(endTime));
-
-        // Calculate the total duration
-        long duration = Duration.between(
-                LocalDateTime.parse(startTime),
-                LocalDateTime.parse(endTime)
-        ).toSeconds();
-        demand.setTotalDuration(duration);
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        LocalDateTime end = LocalDateTime.parse(endTime);
+        LocalDateTime now = LocalDateTime.now();
+        if (timerWriteBehind.submit(new TimerWrite(demandId, start, end, now))) {
+            return true;
+        }
 
-        demandRepository.save(demand);
+        DemandEntity previous = demandRepository.replaceTimer(demandId, start, end, now);
+        if (previous == null) {
+            throw new DemandNotFound("Demanda não encontrada.");
+        }
+        long duration = Duration.between(start, end).toSeconds();
+        rollupService.recordAdjustment(previous, duration - previous.getTotalDuration(), now);
+        eventPublisher.publish(DemandEventType.UPDATED, previous.toBuilder()
+                .startTime(start)
+                .endTime(end)
+                .totalDuration(duration)
+                .statusDate(now)
+                .build());
+        return false;
     }
 
-    public List<DemandEntity> getDemandsByUserId(String userId) {
-        log.info("Fetching demands for userId: {}", userId);
-        List<DemandEntity> demands = demandRepository.findByUserId(userId);
-        if (demands.isEmpty()) {
+    /** {@code version} is the list version the caller's ETag was built from; see {@link DemandPageKey}. */
+    public Slice<DemandEntity> getDemandsByUserId(String userId, DemandFilter filter, String cursor, int limit,
+                                                  DemandVersion version) {
+        log.debug("Fetching demands for userId: {}", userId);
+        DemandPageKey key = DemandPageKey.of("userId", userId, filter, cursor, pageSize(limit), version);
+        Slice<DemandEntity> demands = demandCache.getPage(key, () ->
+                demandRepository.findPageByUserId(userId, filter, decodeCursor(cursor), pageSize(limit)));
+        if (cursor == null && demands.isEmpty()) {
             log.warn("No demands found for userId: {}", userId);
             throw new DemandNotFound("O usuário não possui demandas.");
         }
         return demands;
     }
 
-    public List<DemandEntity> getDemandsByUserAndSubordinates(String userId, String role, String groupId) {
-            if (role.equals("MANAGER") || role.equals("ADMIN")) {
+    public Slice<DemandEntity> getDemandsByUserAndSubordinates(String userId, String role, String groupId,
+                                                              DemandFilter filter, String cursor, int limit) {
+        String visibleGroup = visibleGroup(role, groupId);
+        if (visibleGroup != null) {
             // Busca demandas do supervisor e do grupo
-            return demandRepository.findByUserIdInAndGroupId(userId, groupId);
+            return demandRepository.findPageByGroupId(visibleGroup, filter, decodeCursor(cursor), pageSize(limit));
         } else {
             // Retorna apenas as demandas do próprio usuário
-            return demandRepository.findByUserId(userId);
+            return demandRepository.findPageByUserId(userId, filter, decodeCursor(cursor), pageSize(limit));
+        }
+    }
+
+    public DemandVersion getVersionByUserId(String userId, DemandFilter filter) {
+        return demandRepository.versionByUserId(userId, filter);
+    }
+
+    public DemandVersion getVersionByAnyUserId(String userId, DemandFilter filter) {
+        return demandRepository.versionByUserIdOrUserIdsContaining(userId, filter);
+    }
+
+    public DemandVersion getVersionByUserAndSubordinates(String userId, String role, String groupId, DemandFilter filter) {
+        String visibleGroup = visibleGroup(role, groupId);
+        if (visibleGroup != null) {
+            return demandRepository.versionByGroupId(visibleGroup, filter);
+        }
+        return demandRepository.versionByUserId(userId, filter);
+    }
+
+    public Slice<DemandEntity> searchDemands(String userId, String role, String groupId, String text, int offset, int limit) {
+        log.debug("Searching demands for userId: {}", userId);
+        return demandRepository.searchText(text, userId, visibleGroup(role, groupId), offset, pageSize(limit));
+    }
+
+    public List<DemandEntity> suggestDemands(String userId, String role, String groupId, String query, int limit) {
+        return demandRepository.suggestByTitlePrefix(query, userId, visibleGroup(role, groupId),
+                Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    // Managers and admins see their whole group, everyone else (and a token without a group) only their own demands
+    public static String visibleGroup(String role, String groupId) {
+        boolean manages = "MANAGER".equals(role) || "ADMIN".equals(role);
+        return manages && groupId != null && !groupId.isBlank() ? groupId : null;
+    }
+
+    public List<DemandEntity> getActiveDemands(String userId) {
+        log.debug("Fetching active demands for userId: {}", userId);
+        return demandRepository.findActiveByUserId(userId);
+    }
+
+    public Stream<DemandEntity> streamDemandsByUserAndSubordinates(String userId, String role, String groupId, DemandFilter filter) {
+        log.debug("Streaming demands for userId: {}", userId);
+        String visibleGroup = visibleGroup(role, groupId);
+        if (visibleGroup != null) {
+            return demandRepository.streamByGroupId(visibleGroup, filter);
         }
+        return demandRepository.streamByUserId(userId, filter);
+    }
+
+    private DemandCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : DemandCursor.decode(cursor);
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 }
@@ -0,0 +1,141 @@
+package com.demands.services;
+
+import com.demands.dtos.RollupRebuildDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import com.demands.infraestructure.entity.DemandTimeTotalEntity;
+import com.demands.infraestructure.entity.DemandType;
+import com.demands.infraestructure.repositories.DemandTimeRollupRepository;
+import com.demands.infraestructure.repositories.DemandTransitionUpdates;
+import com.demands.infraestructure.repositories.RollupDrift;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains per-(groupId, userId, type, day) tracked-time counters so dashboards read O(buckets) documents
+ * instead of summing every demand. Counters are incremented by the duration delta of each pause, close and
+ * timer update; a running interval is split at midnight so each day gets the seconds tracked on it, while a timer
+ * update has no interval and is booked on the day it was made. {@link #rebuild()} recomputes the per-(groupId, userId, type) lifetime totals from the demands and
+ * reports how far the counters drifted from them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DemandTimeRollupService {
+
+    private final DemandTimeRollupRepository rollupRepository;
+
+    /** Records the running interval that ended at {@code endTime} for a demand that was IN_PROGRESS. */
+    public void recordInterval(DemandEntity demand, LocalDateTime endTime) {
+        recordIntervals(List.of(demand), endTime);
+    }
+
+    /** Batch form of {@link #recordInterval}: one bulk upsert for all demands. */
+    public void recordIntervals(Collection<DemandEntity> demands, LocalDateTime endTime) {
+        Map<String, DemandTimeRollupEntity> increments = new LinkedHashMap<>();
+        for (DemandEntity demand : demands) {
+            if (demand.getStartTime() != null) {
+                accumulateInterval(increments, demand, demand.getStartTime(), endTime);
+            }
+        }
+        rollupRepository.incrementAll(increments.values());
+    }
+
+    /** Records a signed change of {@code seconds} to the demand's tracked time, made at {@code at}. */
+    public void recordAdjustment(DemandEntity demand, long seconds, LocalDateTime at) {
+        recordAdjustments(Map.of(demand, seconds), at);
+    }
+
+    /** Batch form of {@link #recordAdjustment}: one bulk upsert for all demands. */
+    public void recordAdjustments(Map<DemandEntity, Long> seconds, LocalDateTime at) {
+        Map<String, DemandTimeRollupEntity> increments = new LinkedHashMap<>();
+        seconds.forEach((demand, delta) -> accumulate(increments, demand, delta, at.toLocalDate()));
+        rollupRepository.incrementAll(increments.values());
+    }
+
+    public List<DemandTimeRollupEntity> getGroupSummary(String groupId, LocalDate from, LocalDate to) {
+        log.debug("Fetching time summary for groupId: {}", groupId);
+        return rollupRepository.findByGroupIdAndDayRange(groupId, from.toString(), to.toString());
+    }
+
+    public List<DemandTimeRollupEntity> getUserSummary(String userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching time summary for userId: {}", userId);
+        return rollupRepository.findByUserIdAndDayRange(userId, from.toString(), to.toString());
+    }
+
+    // Disabled unless demands.rollups.rebuild-cron is set
+    @Scheduled(cron = "${demands.rollups.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public List<DemandTimeTotalEntity> getGroupTotals(String groupId) {
+        log.debug("Fetching time totals for groupId: {}", groupId);
+        return rollupRepository.findTotalsByGroupId(groupId);
+    }
+
+    public List<DemandTimeTotalEntity> getUserTotals(String userId) {
+        log.debug("Fetching time totals for userId: {}", userId);
+        return rollupRepository.findTotalsByUserId(userId);
+    }
+
+    /**
+     * Recomputes the lifetime totals from the demands and reports how far the per-day rollups drifted from them.
+     * The per-day rollups are left as recorded: demands only carry a total, so the day a second was tracked
+     * cannot be derived again, and rewriting them would also race the increments made meanwhile. The comparison
+     * runs in Mongo, so neither collection is loaded here.
+     */
+    public RollupRebuildDTO rebuild() {
+        log.info("Rebuilding time totals");
+        rollupRepository.rebuildTotals();
+        RollupDrift drift = rollupRepository.measureDrift();
+        if (drift.getDriftedKeys() > 0) {
+            log.warn("Time rollups drifted from the demand totals on {} keys by {} seconds", drift.getDriftedKeys(), drift.getDriftSeconds());
+        }
+        return new RollupRebuildDTO(drift.getTotals(), drift.getDriftedKeys(), drift.getDriftSeconds());
+    }
+
+    // Books each day's share of [startTime, endTime); the last share takes the remainder so the days sum to
+    // exactly the seconds the pause added to the demand's total
+    private static void accumulateInterval(Map<String, DemandTimeRollupEntity> increments, DemandEntity demand,
+                                           LocalDateTime startTime, LocalDateTime endTime) {
+        long remaining = DemandTransitionUpdates.elapsedSeconds(startTime, endTime);
+        LocalDateTime from = startTime;
+        for (LocalDateTime midnight = startTime.toLocalDate().plusDays(1).atStartOfDay(); midnight.isBefore(endTime);
+             midnight = midnight.plusDays(1)) {
+            long seconds = DemandTransitionUpdates.elapsedSeconds(from, midnight);
+            accumulate(increments, demand, seconds, from.toLocalDate());
+            remaining -= seconds;
+            from = midnight;
+        }
+        accumulate(increments, demand, remaining, from.toLocalDate());
+    }
+
+    private static void accumulate(Map<String, DemandTimeRollupEntity> increments, DemandEntity demand, long seconds, LocalDate on) {
+        if (seconds == 0) {
+            return;
+        }
+        String day = on.toString();
+        String key = key(demand.getGroupId(), demand.getUserId(), demand.getType()) + '|' + day;
+        DemandTimeRollupEntity bucket = increments.computeIfAbsent(key, k -> DemandTimeRollupEntity.builder()
+                .groupId(demand.getGroupId())
+                .userId(demand.getUserId())
+                .type(demand.getType())
+                .day(day)
+                .build());
+        bucket.setSeconds(bucket.getSeconds() + seconds);
+    }
+
+    private static String key(String groupId, String userId, DemandType type) {
+        return groupId + '|' + userId + '|' + type;
+    }
+}
@@ -0,0 +1,224 @@
+package com.demands.services;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.journal.TimerJournal;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.metrics.DemandMetrics.TimerOutcome;
+import com.demands.infraestructure.repositories.BulkTimerResult;
+import com.demands.infraestructure.repositories.DemandRepository;
+import com.demands.infraestructure.repositories.TimerWrite;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind stage for {@code PUT /demands/{id}/timer}. Updates are coalesced per demand in memory, the latest
+ * one received winning, and written every {@code flush-interval} as unordered bulkWrites: a client heartbeating
+ * every second costs one Mongo write per demand per interval instead of one per call. Pending updates are
+ * flushed on shutdown and, when {@code journal-dir} is set, journaled locally and replayed after a crash.
+ * Each write stamps {@code statusDate} with its own receipt time and only applies if the demand was not changed
+ * after that, so a replay never rolls a demand back and a write is never superseded by an older flushed one.
+ */
+@Component
+@Slf4j
+public class DemandTimerWriteBehind {
+
+    private final DemandRepository demandRepository;
+    private final DemandTimeRollupService rollupService;
+    private final DemandEventPublisher eventPublisher;
+    private final DemandMetrics demandMetrics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPending;
+    private final TimerJournal journal;
+    // ConcurrentHashMap locks per bin, so submits for different demands do not contend
+    private final Map<String, TimerWrite> pending = new ConcurrentHashMap<>();
+    // Submits share the read side; a flush takes the write side only to swap the buffer and roll the journal
+    private final ReentrantReadWriteLock swap = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+
+    public DemandTimerWriteBehind(DemandRepository demandRepository, DemandTimeRollupService rollupService,
+                                  DemandEventPublisher eventPublisher, DemandMetrics demandMetrics,
+                                  @Value("${demands.timers.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${demands.timers.write-behind.batch-size:1000}") int batchSize,
+                                  @Value("${demands.timers.write-behind.max-pending:100000}") int maxPending,
+                                  @Value("${demands.timers.write-behind.journal-dir:}") String journalDir) {
+        this.demandRepository = demandRepository;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.demandMetrics = demandMetrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.journal = enabled && !journalDir.isBlank() ? openJournal(Path.of(journalDir)) : null;
+    }
+
+    private TimerJournal openJournal(Path directory) {
+        try {
+            TimerJournal opened = TimerJournal.open(directory);
+            List<TimerWrite> recovered = opened.replay();
+            recovered.forEach(write -> pending.merge(write.getDemandId(), write, TimerWrite::latest));
+            if (!recovered.isEmpty()) {
+                log.info("Recovered {} timer updates for {} demands from {}", recovered.size(), pending.size(), directory);
+            }
+            return opened;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open timer journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Buffers the write. Returns false when the caller must write it itself: write-behind is off, the buffer
+     * is full or the journal cannot be appended to.
+     */
+    public boolean submit(TimerWrite write) {
+        if (!enabled || pending.size() >= maxPending) {
+            return false;
+        }
+        if (!buffer(write, false)) {
+            return false;
+        }
+        demandMetrics.timerUpdates(TimerOutcome.BUFFERED, 1);
+        return true;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${demands.timers.write-behind.flush-interval:PT1S}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<TimerWrite> drained;
+            long segment = -1;
+            swap.writeLock().lock();
+            try {
+                drained = new ArrayList<>(pending.values());
+                pending.clear();
+                if (journal != null) {
+                    segment = roll();
+                }
+            } finally {
+                swap.writeLock().unlock();
+            }
+
+            List<TimerWrite> retries = new ArrayList<>();
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                List<TimerWrite> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+                try {
+                    retries.addAll(write(batch));
+                } catch (RuntimeException e) {
+                    log.warn("Writing {} timer updates failed, retrying on the next flush", batch.size(), e);
+                    retries.addAll(batch);
+                }
+            }
+            demandMetrics.timerUpdates(TimerOutcome.RETRIED, retries.size());
+
+            // Retries are journaled again, so the drained segments can go once every retry is back in the buffer
+            boolean journaled = true;
+            for (TimerWrite retry : retries) {
+                journaled &= buffer(retry, true);
+            }
+            if (journal != null && segment > 0 && journaled) {
+                deleteBefore(segment);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    // Returns the writes that raced with another update of their demand
+    private List<TimerWrite> write(List<TimerWrite> batch) {
+        BulkTimerResult result = demandRepository.replaceTimers(batch);
+
+        Map<DemandEntity, Long> adjustments = new IdentityHashMap<>();
+        List<DemandEntity> updated = new ArrayList<>();
+        for (TimerWrite write : batch) {
+            DemandEntity previous = result.getPrevious().get(write.getDemandId());
+            if (previous != null) {
+                long duration = write.durationSeconds();
+                adjustments.put(previous, duration - previous.getTotalDuration());
+                updated.add(previous.toBuilder()
+                        .startTime(write.getStartTime())
+                        .endTime(write.getEndTime())
+                        .totalDuration(duration)
+                        .statusDate(write.statusDate())
+                        .build());
+            }
+        }
+        rollupService.recordAdjustments(adjustments, LocalDateTime.now());
+        eventPublisher.publishAll(DemandEventType.UPDATED, updated);
+
+        demandMetrics.timerUpdates(TimerOutcome.WRITTEN, updated.size());
+        // Missing demands and writes a later change already replaced are dropped
+        demandMetrics.timerUpdates(TimerOutcome.SUPERSEDED, batch.size() - updated.size() - result.getConflicted().size());
+        return result.getConflicted();
+    }
+
+    // Journals then buffers the write; if journaling fails it is buffered only when keepUnjournaled is set
+    private boolean buffer(TimerWrite write, boolean keepUnjournaled) {
+        swap.readLock().lock();
+        try {
+            boolean journaled = append(write);
+            if (journaled || keepUnjournaled) {
+                pending.merge(write.getDemandId(), write, TimerWrite::latest);
+            }
+            return journaled;
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    private boolean append(TimerWrite write) {
+        if (journal == null) {
+            return true;
+        }
+        try {
+            journal.append(write);
+            return true;
+        } catch (IOException e) {
+            log.warn("Cannot journal the timer update of demand {}", write.getDemandId(), e);
+            return false;
+        }
+    }
+
+    private long roll() {
+        try {
+            return journal.roll();
+        } catch (IOException e) {
+            log.warn("Cannot roll the timer journal; keeping its segments until the next flush", e);
+            return -1;
+        }
+    }
+
+    private void deleteBefore(long segment) {
+        try {
+            journal.deleteBefore(segment);
+        } catch (IOException e) {
+            log.warn("Cannot delete flushed timer journal segments; they will be replayed harmlessly", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.demands.services;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.exceptions.DemandConflictException;
+import com.demands.infraestructure.exceptions.DemandNotFound;
+import com.demands.infraestructure.exceptions.InvalidStatusException;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.DemandTransitionUpdates;
+import com.demands.infraestructure.repositories.ReactiveDemandRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking variant of {@link DemandService} for the {@code reactive} profile. Inserts and timer
+ * transitions go through the same rules ({@link DemandService#prepareForInsert},
+ * {@link DemandTransitionUpdates}), so both variants can serve the same collection side by side.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDemandService {
+
+    private final ReactiveDemandRepository demandRepository;
+    private final DemandTimeRollupService rollupService;
+    private final DemandEventPublisher eventPublisher;
+    private final DemandMetrics demandMetrics;
+
+    public Flux<DemandEntity> getDemandsByUserId(String userId, DemandFilter filter) {
+        log.debug("Streaming demands for userId: {}", userId);
+        return demandRepository.findAllByUserId(userId, filter);
+    }
+
+    public Flux<DemandEntity> getDemandsByAnyUserId(String userId, DemandFilter filter) {
+        log.debug("Streaming demands for any userId: {}", userId);
+        return demandRepository.findAllByUserIdOrUserIdsContaining(userId, filter);
+    }
+
+    public Flux<DemandEntity> getDemandsByStatus(String status, DemandFilter filter) {
+        log.debug("Streaming demands with status: {}", status);
+        DemandStatus demandStatus;
+        try {
+            demandStatus = DemandStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid status: {}", status);
+            return Flux.error(new InvalidStatusException("Status incorreto: " + status));
+        }
+        return demandRepository.findAllByStatus(demandStatus, filter);
+    }
+
+    public Flux<DemandEntity> getDemandsByUserAndSubordinates(String userId, String role, String groupId, DemandFilter filter) {
+        String visibleGroup = DemandService.visibleGroup(role, groupId);
+        if (visibleGroup != null) {
+            return demandRepository.findAllByGroupId(visibleGroup, filter);
+        }
+        return demandRepository.findAllByUserId(userId, filter);
+    }
+
+    public Mono<DemandEntity> createDemand(DemandEntity demand) {
+        log.info("Creating new demand: {}", demand);
+        DemandService.prepareForInsert(demand, LocalDateTime.now());
+        return demandRepository.save(demand)
+                .flatMap(created -> blocking(() -> eventPublisher.publish(DemandEventType.CREATED, created)).thenReturn(created));
+    }
+
+    public Mono<Void> startDemand(String demandId) {
+        return transition(demandId, DemandTransition.START, DemandEventType.STARTED,
+                "Não é possível iniciar uma demanda que já está em andamento ou encerrada.");
+    }
+
+    public Mono<Void> pauseDemand(String demandId) {
+        return transition(demandId, DemandTransition.PAUSE, DemandEventType.PAUSED,
+                "Não é possível pausar uma demanda que não está em andamento.");
+    }
+
+    public Mono<Void> continueDemand(String demandId) {
+        return transition(demandId, DemandTransition.CONTINUE, DemandEventType.CONTINUED,
+                "Não é possível continuar uma demanda que não está pausada.");
+    }
+
+    public Mono<Void> closeDemand(String demandId) {
+        return transition(demandId, DemandTransition.CLOSE, DemandEventType.CLOSED,
+                "Não é possível encerrar uma demanda que já foi encerrada.");
+    }
+
+    private Mono<Void> transition(String demandId, DemandTransition transition, DemandEventType eventType, String rejection) {
+        log.info("Applying {} to demand with id: {}", transition, demandId);
+        LocalDateTime now = LocalDateTime.now();
+        return demandRepository.transition(demandId, transition, now)
+                .switchIfEmpty(Mono.defer(() -> transitionRejected(demandId, transition, rejection)))
+                .flatMap(previous -> blocking(() -> {
+                    demandMetrics.transition(transition, DemandMetrics.Outcome.APPLIED);
+                    // Same bookkeeping as DemandService: a running interval ends on pause and on close
+                    if (previous.getStatus() == DemandStatus.IN_PROGRESS && transition.getTarget() != DemandStatus.IN_PROGRESS) {
+                        rollupService.recordInterval(previous, now);
+                    }
+                    eventPublisher.publish(eventType, DemandTransitionUpdates.afterTransition(previous, transition, now));
+                }));
+    }
+
+    // A conditional update matched nothing: either the demand is gone or its status forbids the transition
+    private Mono<DemandEntity> transitionRejected(String demandId, DemandTransition transition, String message) {
+        return demandRepository.existsById(demandId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        demandMetrics.transition(transition, DemandMetrics.Outcome.NOT_FOUND);
+                        return Mono.error(new DemandNotFound("Demanda não encontrada"));
+                    }
+                    demandMetrics.transition(transition, DemandMetrics.Outcome.CONFLICT);
+                    log.warn("Transition rejected for demand with id: {}", demandId);
+                    return Mono.error(new DemandConflictException(message));
+                });
+    }
+
+    // Rollups and local events still use the blocking template and listeners, so they run off the event loop
+    private static Mono<Void> blocking(Runnable task) {
+        return Mono.fromRunnable(task).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+}
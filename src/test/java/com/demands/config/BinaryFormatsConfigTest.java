@@ -0,0 +1,67 @@
+package com.demands.config;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatsConfigTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_000_000);
+
+    private static List<DemandDTO> demands(int size) {
+        List<DemandDTO> demands = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            demands.add(DemandDTO.builder()
+                    .demandId("demand-" + i)
+                    .userId("ana")
+                    .status(DemandStatus.values()[i % DemandStatus.values().length])
+                    .type(DemandType.values()[i % DemandType.values().length])
+                    .startTime(START.plusMinutes(i))
+                    .statusDate(START.plusMinutes(i + 1))
+                    .build());
+        }
+        return demands;
+    }
+
+    @Test
+    void cborWritesEnumsAsOrdinalsAndTimestampsAsEpochMillis() throws Exception {
+        ObjectMapper cbor = BinaryFormatsConfig.cborMapper();
+
+        JsonNode node = cbor.readTree(cbor.writeValueAsBytes(demands(2))).get(1);
+
+        assertEquals(DemandStatus.values()[1].ordinal(), node.get("status").intValue());
+        assertEquals(START.plusMinutes(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                node.get("startTime").longValue());
+    }
+
+    @Test
+    void smileRoundTripsNamesAndTimestamps() throws Exception {
+        ObjectMapper smile = BinaryFormatsConfig.smileMapper();
+
+        List<DemandDTO> read = smile.readValue(smile.writeValueAsBytes(demands(3)), new TypeReference<>() {});
+
+        assertEquals(DemandStatus.values()[2], read.get(2).getStatus());
+        assertEquals(START.plusMinutes(2), read.get(2).getStartTime());
+    }
+
+    @Test
+    void binaryListsAreSmallerThanJson() throws Exception {
+        List<DemandDTO> demands = demands(200);
+        int json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(demands).length;
+
+        assertTrue(BinaryFormatsConfig.cborMapper().writeValueAsBytes(demands).length < json);
+        assertTrue(BinaryFormatsConfig.smileMapper().writeValueAsBytes(demands).length < json);
+    }
+}
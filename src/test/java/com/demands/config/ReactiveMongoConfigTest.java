@@ -0,0 +1,40 @@
+package com.demands.config;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveMongoConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ApplicationPackage.class, ReactiveMongoConfig.class);
+
+    // Stands in for DemandsApplication: the repositories auto-configuration scans the application package
+    @Configuration
+    @AutoConfigurationPackage
+    static class ApplicationPackage {
+    }
+
+    @Test
+    void opensNoReactiveClientWithoutTheProfile() {
+        contextRunner.run(context -> assertThat(context)
+                .hasNotFailed()
+                .doesNotHaveBean(MongoClient.class)
+                .doesNotHaveBean(ReactiveMongoTemplate.class));
+    }
+
+    @Test
+    void createsTheReactiveClientAndTemplateUnderTheProfile() {
+        contextRunner
+                .withInitializer(context -> context.getEnvironment().setActiveProfiles("reactive"))
+                .run(context -> assertThat(context)
+                        .hasNotFailed()
+                        .hasSingleBean(MongoClient.class)
+                        .hasSingleBean(ReactiveMongoTemplate.class));
+    }
+}
@@ -0,0 +1,15 @@
+package com.demands.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void refusesVirtualThreadsBelowJava21() {
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> VirtualThreadsConfig.checkRuntime(17));
+        assertTrue(error.getMessage().contains("Java 17"));
+        assertDoesNotThrow(() -> VirtualThreadsConfig.checkRuntime(21));
+    }
+}
@@ -0,0 +1,101 @@
+package com.demands.controllers;
+
+import com.demands.infraestructure.cache.DemandCache;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.exceptions.GlobalExceptionHandler;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.DemandRepository;
+import com.demands.mappers.DemandMapper;
+import com.demands.security.JwtPrincipal;
+import com.demands.services.DemandArchiveService;
+import com.demands.services.DemandBatchService;
+import com.demands.services.DemandEventHub;
+import com.demands.services.DemandEventPublisher;
+import com.demands.services.DemandExportService;
+import com.demands.services.DemandReaperService;
+import com.demands.services.DemandService;
+import com.demands.services.DemandTimeRollupService;
+import com.demands.services.DemandTimerWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class DemandControllerTest {
+
+    private final DemandCache demandCache = mock(DemandCache.class);
+    private final DemandTimeRollupService demandTimeRollupService = mock(DemandTimeRollupService.class);
+    private final DemandMetrics demandMetrics = new DemandMetrics(new SimpleMeterRegistry());
+    private final DemandService demandService = new DemandService(mock(DemandRepository.class), mock(DemandTimeRollupService.class),
+            mock(DemandEventPublisher.class), demandCache, demandMetrics, mock(DemandTimerWriteBehind.class));
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new DemandController(demandService, mock(DemandExportService.class), mock(DemandBatchService.class),
+                    demandTimeRollupService, mock(DemandReaperService.class), mock(DemandArchiveService.class),
+                    mock(DemandEventHub.class), Mappers.getMapper(DemandMapper.class), demandCache, demandMetrics))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @BeforeEach
+    void aSharedDemandOfAnotherGroup() {
+        DemandEntity demand = DemandEntity.builder().demandId("a").userId("ana").userIds(List.of("bia"))
+                .groupId("sales").status(DemandStatus.OPEN).build();
+        when(demandCache.getDemand(eq("a"), any())).thenReturn(demand);
+    }
+
+    private static MockHttpServletRequestBuilder getDemandAs(String userId, String role, String groupId) {
+        return get("/demands/a").requestAttr(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal(userId, role, groupId));
+    }
+
+    @Test
+    void requiresAPrincipal() throws Exception {
+        mockMvc.perform(get("/demands/a")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void ownerParticipantAndGroupManagerCanReadTheDemand() throws Exception {
+        mockMvc.perform(getDemandAs("ana", "USER", "sales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.demandId").value("a"));
+        mockMvc.perform(getDemandAs("bia", "USER", "support")).andExpect(status().isOk());
+        mockMvc.perform(getDemandAs("caio", "MANAGER", "sales")).andExpect(status().isOk());
+    }
+
+    @Test
+    void anyoneElseGetsNotFound() throws Exception {
+        mockMvc.perform(getDemandAs("caio", "USER", "sales")).andExpect(status().isNotFound());
+        mockMvc.perform(getDemandAs("caio", "MANAGER", "support")).andExpect(status().isNotFound());
+        mockMvc.perform(getDemandAs("caio", "ADMIN", null)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void managerWithoutAGroupOnlySeesTheirOwnTime() throws Exception {
+        mockMvc.perform(get("/demands/summary").requestAttr(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("caio", "MANAGER", null)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/demands/summary/totals").requestAttr(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("caio", "ADMIN", " ")))
+                .andExpect(status().isOk());
+
+        verify(demandTimeRollupService).getUserSummary(eq("caio"), any(), any());
+        verify(demandTimeRollupService).getUserTotals("caio");
+        verify(demandTimeRollupService, never()).getGroupSummary(any(), any(), any());
+        verify(demandTimeRollupService, never()).getGroupTotals(any());
+    }
+
+    @Test
+    void managerWithAGroupSeesTheGroupsTime() throws Exception {
+        mockMvc.perform(get("/demands/summary/totals").requestAttr(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("caio", "MANAGER", "sales")))
+                .andExpect(status().isOk());
+
+        verify(demandTimeRollupService).getGroupTotals("sales");
+    }
+}
@@ -0,0 +1,80 @@
+package com.demands.controllers;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.mappers.DemandMapper;
+import com.demands.security.JwtPrincipal;
+import com.demands.services.ReactiveDemandService;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ReactiveDemandControllerTest {
+
+    private final ReactiveDemandService demandService = mock(ReactiveDemandService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ReactiveDemandController(demandService, Mappers.getMapper(DemandMapper.class)))
+            .build();
+
+    private static DemandEntity demand(String demandId) {
+        return DemandEntity.builder().demandId(demandId).userId("ana").status(DemandStatus.OPEN).build();
+    }
+
+    @Test
+    void streamsTheUserListAsNdjson() throws Exception {
+        when(demandService.getDemandsByUserId(eq("ana"), any(DemandFilter.class)))
+                .thenReturn(Flux.just(demand("a"), demand("b")));
+
+        MvcResult started = mockMvc.perform(get("/reactive/demands")
+                        .requestAttr(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("ana", "USER", "g"))
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"demandId\":\"a\""), lines[0]);
+        assertTrue(lines[1].startsWith("{\"demandId\":\"b\""), lines[1]);
+    }
+
+    @Test
+    void streamsTheManagerListAsNdjson() throws Exception {
+        when(demandService.getDemandsByUserAndSubordinates(eq("bia"), eq("MANAGER"), eq("g"), any(DemandFilter.class)))
+                .thenReturn(Flux.just(demand("a")));
+
+        MvcResult started = mockMvc.perform(get("/reactive/demands/all")
+                        .requestAttr(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("bia", "MANAGER", "g"))
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void rejectsListsWithoutAPrincipal() throws Exception {
+        mockMvc.perform(get("/reactive/demands").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/reactive/demands/all").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(demandService);
+    }
+}
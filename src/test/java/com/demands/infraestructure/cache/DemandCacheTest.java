@@ -0,0 +1,99 @@
+package com.demands.infraestructure.cache;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.repositories.DemandVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandCacheTest {
+
+    // Two caches on one in-process bus stand in for two nodes in near mode
+    private final LocalDemandCacheBus bus = new LocalDemandCacheBus();
+    private final DemandCache nodeA = new DemandCache(bus, 100, 100, Duration.ofMinutes(1), "local");
+    private final DemandCache nodeB = new DemandCache(bus, 100, 100, Duration.ofMinutes(1), "local");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Slice<DemandEntity> load(DemandEntity... demands) {
+        loads.incrementAndGet();
+        return new SliceImpl<>(List.of(demands));
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        DemandEntity demand = DemandEntity.builder().demandId("a").userId("ana").build();
+        DemandPageKey key = DemandPageKey.of("userId", "ana", null, null, 50, DemandVersion.EMPTY);
+
+        nodeA.getPage(key, () -> load(demand));
+        nodeA.getPage(key, () -> load(demand));
+        nodeA.getDemand("a", () -> demand);
+        nodeA.getDemand("a", () -> fail("should be cached"));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, nodeA.stats().get("pages").hitCount());
+        assertEquals(1, nodeA.stats().get("demands").hitCount());
+    }
+
+    @Test
+    void evictsOnlyTheChangedDemandAndItsUsersPagesOnEveryNode() {
+        DemandEntity shared = DemandEntity.builder().demandId("a").userId("ana").userIds(List.of("bia")).build();
+        DemandPageKey ana = DemandPageKey.of("userId", "ana", null, null, 50, DemandVersion.EMPTY);
+        DemandPageKey bia = DemandPageKey.of("anyUserId", "bia", null, null, 50, DemandVersion.EMPTY);
+        DemandPageKey caio = DemandPageKey.of("userId", "caio", null, null, 50, DemandVersion.EMPTY);
+        for (DemandCache node : List.of(nodeA, nodeB)) {
+            node.getPage(ana, () -> load(shared));
+            node.getPage(bia, () -> load(shared));
+            node.getPage(caio, () -> load());
+            node.getDemand("a", () -> shared);
+        }
+        loads.set(0);
+
+        nodeA.evict(shared);
+
+        for (DemandCache node : List.of(nodeA, nodeB)) {
+            node.getPage(ana, () -> load(shared));
+            node.getPage(bia, () -> load(shared));
+            node.getPage(caio, () -> load());
+        }
+        assertEquals(4, loads.get(), "ana and bia reloaded on both nodes, caio untouched");
+        assertSame(shared, nodeB.getDemand("a", () -> shared));
+        assertEquals(2, nodeB.stats().get("demands").missCount(), "demand evicted on the other node too");
+    }
+
+    @Test
+    void doesNotServeAPageCachedUnderAnOlderListVersion() {
+        LocalDateTime modified = LocalDateTime.of(2024, 1, 15, 9, 30);
+        DemandEntity before = DemandEntity.builder().demandId("a").userId("ana").statusDate(modified).build();
+        DemandEntity after = before.toBuilder().statusDate(modified.plusSeconds(1)).build();
+        DemandPageKey stale = DemandPageKey.of("userId", "ana", null, null, 50, new DemandVersion(1, modified, 1));
+        DemandPageKey fresh = DemandPageKey.of("userId", "ana", null, null, 50, new DemandVersion(1, modified.plusSeconds(1), 2));
+        nodeA.getPage(stale, () -> load(before));
+
+        // The write was never evicted here (e.g. another node's bus message was lost), but the version moved
+        Slice<DemandEntity> served = nodeA.getPage(fresh, () -> load(after));
+
+        assertSame(after, served.getContent().get(0));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictAllClearsEveryNode() {
+        DemandPageKey key = DemandPageKey.of("userId", "ana", null, null, 50, DemandVersion.EMPTY);
+        nodeA.getPage(key, () -> load());
+        nodeB.getPage(key, () -> load());
+
+        nodeB.evictAll();
+
+        nodeA.getPage(key, () -> load());
+        nodeB.getPage(key, () -> load());
+        assertEquals(4, loads.get());
+    }
+}
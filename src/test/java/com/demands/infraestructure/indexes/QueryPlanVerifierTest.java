@@ -0,0 +1,84 @@
+package com.demands.infraestructure.indexes;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class QueryPlanVerifierTest {
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    @Test
+    void detectsTopLevelCollectionScan() {
+        assertTrue(QueryPlanVerifier.usesCollectionScan(explain(new Document("stage", "COLLSCAN"))));
+    }
+
+    @Test
+    void detectsCollectionScanNestedUnderOrAndSlotBasedPlans() {
+        Document orPlan = new Document("stage", "SUBPLAN").append("inputStage",
+                new Document("stage", "OR").append("inputStages", List.of(
+                        new Document("stage", "IXSCAN").append("indexName", "userId_statusDate"),
+                        new Document("stage", "COLLSCAN"))));
+        Document sbePlan = new Document("queryPlan", new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "COLLSCAN")));
+
+        assertTrue(QueryPlanVerifier.usesCollectionScan(explain(orPlan)));
+        assertTrue(QueryPlanVerifier.usesCollectionScan(explain(sbePlan)));
+    }
+
+    @Test
+    void acceptsIndexBackedPlan() {
+        Document plan = new Document("stage", "LIMIT").append("inputStage",
+                new Document("stage", "FETCH").append("inputStage",
+                        new Document("stage", "IXSCAN").append("indexName", "status_statusDate")));
+
+        assertFalse(QueryPlanVerifier.usesCollectionScan(explain(plan)));
+    }
+
+    private static Map<String, QueryPlanVerifier.Shape> shapes() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return QueryPlanVerifier.queryShapes(mock(MongoDatabaseFactory.class), converter);
+    }
+
+    @Test
+    void coversRepositoryFinders() {
+        Map<String, QueryPlanVerifier.Shape> shapes = shapes();
+
+        assertTrue(shapes.keySet().containsAll(List.of("findPageByUserId", "findPageByUserIdOrUserIdsContaining",
+                "findPageByGroupId", "streamByGroupId", "findActiveByUserId", "findRunningStartedBefore",
+                "findClosedBefore", "searchText", "suggestByTitlePrefix")), shapes.keySet().toString());
+        shapes.values().forEach(shape -> assertFalse(shape.filter().isEmpty()));
+    }
+
+    @Test
+    void explainsTheQueriesTheFindersBuild() {
+        Map<String, QueryPlanVerifier.Shape> shapes = shapes();
+
+        // The keyset clause and sort come from findPage itself, mapped to stored names
+        QueryPlanVerifier.Shape groupPage = shapes.get("findPageByGroupId");
+        assertEquals("demand_entity", groupPage.collection());
+        assertEquals(new Document("statusDate", -1).append("_id", -1), groupPage.sort());
+        assertTrue(groupPage.filter().toJson().contains("\"groupId\""));
+        assertTrue(groupPage.filter().toJson().contains("\"_id\": {\"$lt\""), groupPage.filter().toJson());
+        assertEquals(51, groupPage.limit());
+        // CLOSED pages also read the archive, which is checked as its own shape
+        assertEquals("demand_archive", shapes.get("findPageByStatus on demand_archive").collection());
+    }
+}
@@ -0,0 +1,48 @@
+package com.demands.infraestructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoadShedderTest {
+
+    private final MongoLoadTracker mongoLoad = mock(MongoLoadTracker.class);
+    private final LoadShedder shedder = new LoadShedder(mongoLoad, 2, 1, 10, Duration.ofMillis(50), 5);
+
+    @Test
+    void rejectsRequestsOverTheConcurrencyLimit() {
+        assertTrue(shedder.tryAcquire());
+        assertTrue(shedder.tryAcquire());
+        assertFalse(shedder.tryAcquire());
+
+        shedder.release(System.nanoTime());
+        assertTrue(shedder.tryAcquire());
+    }
+
+    @Test
+    void rejectsEverythingWhileThePoolQueueIsOverItsThreshold() {
+        when(mongoLoad.poolWaiters()).thenReturn(6);
+
+        assertFalse(shedder.tryAcquire());
+        assertEquals(0, shedder.inFlight());
+    }
+
+    @Test
+    void growsWhileMongoIsFastAndBacksOffWhenItIsSlow() {
+        when(mongoLoad.averageLatencyMillis()).thenReturn(5.0);
+        for (int i = 0; i < 4; i++) {
+            shedder.tryAcquire();
+            shedder.release(System.nanoTime());
+        }
+        double grown = shedder.limit();
+        assertTrue(grown > 2);
+
+        when(mongoLoad.averageLatencyMillis()).thenReturn(500.0);
+        shedder.tryAcquire();
+        shedder.release(System.nanoTime() + Duration.ofSeconds(1).toNanos());
+        assertEquals(grown * 0.9, shedder.limit(), 1e-9);
+    }
+}
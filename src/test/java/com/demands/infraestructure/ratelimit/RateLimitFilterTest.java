@@ -0,0 +1,58 @@
+package com.demands.infraestructure.ratelimit;
+
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.security.JwtPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private final MongoLoadTracker mongoLoad = mock(MongoLoadTracker.class);
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new RateLimiter(1, 1, 1, 1, 100, 100, 100, 100, Duration.ofMinutes(1), 1000),
+            new LoadShedder(mongoLoad, 10, 1, 10, Duration.ofMillis(50), 5),
+            new DemandMetrics(new SimpleMeterRegistry()), new ObjectMapper(), true, true);
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("ana", "USER", "g1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void answers429WithRetryAfterOnceTheBudgetIsSpent() throws Exception {
+        assertEquals(200, get("/demands/all").getStatus());
+
+        MockHttpServletResponse rejected = get("/demands/all");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("429"));
+    }
+
+    @Test
+    void shedsLoadWhenMongoConnectionsAreQueued() throws Exception {
+        when(mongoLoad.poolWaiters()).thenReturn(50);
+
+        MockHttpServletResponse response = get("/demands");
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, get("/actuator/health").getStatus());
+        }
+    }
+}
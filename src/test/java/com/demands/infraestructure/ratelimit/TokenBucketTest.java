@@ -0,0 +1,52 @@
+package com.demands.infraestructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsTheBurstThenOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        long wait = bucket.tryAcquire(0);
+        assertEquals(SECOND / 10, wait);
+        assertEquals(0, bucket.tryAcquire(wait));
+        assertTrue(bucket.tryAcquire(wait) > 0);
+    }
+
+    @Test
+    void refillsUpToTheBurstOnlyAfterIdleTime() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        long later = 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void limiterChecksTheGroupBudgetAfterTheUserBudget() {
+        RateLimiter limiter = new RateLimiter(100, 100, 1, 1, 1, 2, 1, 1, Duration.ofMinutes(1), 1000);
+
+        assertEquals(0, limiter.tryAcquire("ana", "g1", false, 0));
+        assertEquals(0, limiter.tryAcquire("bia", "g1", false, 0));
+        assertTrue(limiter.tryAcquire("caio", "g1", false, 0) > 0, "group read burst of 2 is spent");
+        assertEquals(0, limiter.tryAcquire("caio", null, false, 0), "no group, only the user bucket applies");
+        assertEquals(0, limiter.tryAcquire("ana", "g2", true, 0));
+        assertTrue(limiter.tryAcquire("ana", "g3", true, 0) > 0, "user write burst of 1 is spent");
+    }
+}
@@ -0,0 +1,51 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.exceptions.InvalidCursorException;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandCursorTest {
+
+    @Test
+    void roundTripsThroughOpaqueToken() {
+        LocalDateTime statusDate = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000);
+        String token = new DemandCursor(statusDate, "65f1c0ffee00000000000001").encode();
+
+        DemandCursor decoded = DemandCursor.decode(token);
+
+        assertEquals(statusDate, decoded.getStatusDate());
+        assertEquals("65f1c0ffee00000000000001", decoded.getDemandId());
+    }
+
+    @Test
+    void roundTripsUndatedDemand() {
+        DemandCursor decoded = DemandCursor.decode(new DemandCursor(null, "65f1c0ffee00000000000002").encode());
+
+        assertNull(decoded.getStatusDate());
+        assertEquals("65f1c0ffee00000000000002", decoded.getDemandId());
+    }
+
+    @Test
+    void pagesPastDatedDemandsIntoUndatedTail() {
+        Document dated = DemandCriteria.after(new DemandCursor(LocalDateTime.of(2024, 5, 1, 10, 0), "b")).getCriteriaObject();
+        Document undated = DemandCriteria.after(new DemandCursor(null, "b")).getCriteriaObject();
+
+        List<?> branches = dated.getList("$or", Object.class);
+        assertEquals(3, branches.size());
+        assertTrue(branches.contains(new Document("statusDate", null)), "undated demands follow every dated one");
+        assertNull(undated.get("statusDate"));
+        assertTrue(undated.containsKey("statusDate"));
+        assertEquals(new Document("$lt", "b"), undated.get("demandId"));
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThrows(InvalidCursorException.class, () -> DemandCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> DemandCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/** {@link DemandBulkRepositoryImpl#deleteAllExisting} removes demands from the hot collection and the archive. */
+class DemandDeleteTest {
+
+    private static final String HOT = "demand_entity";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final DemandBulkRepositoryImpl repository = new DemandBulkRepositoryImpl(mongoTemplate);
+
+    @Test
+    void deletesArchivedDemandsAndReturnsEachDemandOnce() {
+        when(mongoTemplate.getCollectionName(DemandEntity.class)).thenReturn(HOT);
+        when(mongoTemplate.find(any(Query.class), eq(DemandEntity.class), eq(HOT))).thenReturn(List.of(
+                DemandEntity.builder().demandId("hot").build(),
+                DemandEntity.builder().demandId("both").userId("hot-copy").build()));
+        when(mongoTemplate.find(any(Query.class), eq(DemandEntity.class), eq(DemandArchiveRepository.COLLECTION)))
+                .thenReturn(List.of(
+                        DemandEntity.builder().demandId("archived").build(),
+                        DemandEntity.builder().demandId("both").userId("archived-copy").build()));
+
+        List<DemandEntity> deleted = repository.deleteAllExisting(Set.of("hot", "both", "archived", "missing"));
+
+        assertEquals(Set.of("hot", "both", "archived"),
+                Set.copyOf(deleted.stream().map(DemandEntity::getDemandId).toList()));
+        assertEquals(3, deleted.size());
+        assertEquals("hot-copy", deleted.stream()
+                .filter(demand -> demand.getDemandId().equals("both")).findFirst().orElseThrow().getUserId());
+        verify(mongoTemplate).remove(any(Query.class), eq(DemandEntity.class), eq(HOT));
+        verify(mongoTemplate).remove(any(Query.class), eq(DemandEntity.class), eq(DemandArchiveRepository.COLLECTION));
+    }
+}
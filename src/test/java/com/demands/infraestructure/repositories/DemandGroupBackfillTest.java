@@ -0,0 +1,67 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.mongodb.client.MongoClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the groupId backfill on a real MongoDB (embedded, or MONGODB_URI when set, e.g.
+ * mongodb://localhost:27017/demands_it).
+ */
+class DemandGroupBackfillTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private DemandBulkRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        client = TestMongo.client();
+        mongoTemplate = new MongoTemplate(client, "demands_it");
+        mongoTemplate.dropCollection(DemandEntity.class);
+        mongoTemplate.dropCollection(DemandArchiveRepository.COLLECTION);
+        repository = new DemandBulkRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client == null) {
+            return;
+        }
+        mongoTemplate.dropCollection(DemandEntity.class);
+        mongoTemplate.dropCollection(DemandArchiveRepository.COLLECTION);
+        client.close();
+    }
+
+    private DemandEntity demand(String demandId, String userId, String groupId, LocalDateTime statusDate) {
+        return DemandEntity.builder().demandId(demandId).userId(userId).groupId(groupId)
+                .status(DemandStatus.OPEN).statusDate(statusDate).build();
+    }
+
+    @Test
+    void stampsTheOwnersLatestGroupOnHotAndArchivedDemands() {
+        mongoTemplate.insert(demand("legacy", "ana", null, NOW.minusYears(1)));
+        mongoTemplate.insert(demand("moved", "ana", "old-team", NOW.minusDays(10)));
+        mongoTemplate.insert(demand("recent", "ana", "team", NOW));
+        mongoTemplate.insert(demand("archived", "ana", null, NOW.minusYears(2)), DemandArchiveRepository.COLLECTION);
+        mongoTemplate.insert(demand("unknown", "bia", null, NOW));
+
+        assertEquals(2, repository.backfillGroupIds(1));
+
+        assertEquals("team", mongoTemplate.findById("legacy", DemandEntity.class).getGroupId());
+        assertEquals("old-team", mongoTemplate.findById("moved", DemandEntity.class).getGroupId());
+        assertEquals("team", mongoTemplate.findById("archived", DemandEntity.class, DemandArchiveRepository.COLLECTION).getGroupId());
+        assertNull(mongoTemplate.findById("unknown", DemandEntity.class).getGroupId(), "no grouped demand to take it from");
+        assertEquals(0, repository.backfillGroupIds(1));
+    }
+}
@@ -0,0 +1,99 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.dtos.DemandFilter;
+import com.demands.dtos.DemandView;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DemandRepositoryImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 9, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final DemandRepositoryImpl repository = new DemandRepositoryImpl(mongoTemplate);
+
+    private static DemandEntity demand(String demandId, LocalDateTime statusDate) {
+        return DemandEntity.builder().demandId(demandId).userId("ana").status(DemandStatus.CLOSED).statusDate(statusDate).build();
+    }
+
+    // Hot pages have a keyset sort; the lookup of archived ids that are still hot has none
+    private static Query isPage() {
+        return argThat(query -> query != null && !query.getSortObject().isEmpty());
+    }
+
+    @Test
+    void historyPageListsADemandBeingArchivedOnce() {
+        DemandEntity hot = demand("b", NOW.minusDays(1));
+        // Copied before an edit that kept it hot: the stale copy sorts elsewhere and must not show up either
+        DemandEntity staleCopy = demand("b", NOW.minusDays(200));
+        DemandEntity archived = demand("a", NOW.minusDays(300));
+        when(mongoTemplate.find(isPage(), eq(DemandEntity.class))).thenReturn(List.of(hot));
+        when(mongoTemplate.find(isPage(), eq(DemandEntity.class), eq(DemandArchiveRepository.COLLECTION)))
+                .thenReturn(List.of(staleCopy, archived));
+        when(mongoTemplate.find(argThat(query -> query != null && query.getSortObject().isEmpty()), eq(DemandEntity.class)))
+                .thenReturn(List.of(DemandEntity.builder().demandId("b").build()));
+        DemandFilter filter = new DemandFilter();
+        filter.setHistory(true);
+
+        Slice<DemandEntity> page = repository.findPageByUserId("ana", filter, null, 10);
+
+        assertEquals(List.of("b", "a"), page.getContent().stream().map(DemandEntity::getDemandId).toList());
+        assertSame(hot, page.getContent().get(0));
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void closedListingsReadTheArchiveForPagesAndVersionsAlike() {
+        when(mongoTemplate.getCollectionName(DemandEntity.class)).thenReturn("demand_entity");
+        when(mongoTemplate.aggregate(any(Aggregation.class), any(String.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        DemandFilter closed = new DemandFilter();
+        closed.setStatus(DemandStatus.CLOSED);
+
+        repository.findPageByStatus(DemandStatus.CLOSED, new DemandFilter(), null, 10);
+        repository.versionByUserId("ana", closed);
+        repository.versionByUserId("ana", new DemandFilter());
+
+        verify(mongoTemplate).find(isPage(), eq(DemandEntity.class), eq(DemandArchiveRepository.COLLECTION));
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(DemandArchiveRepository.COLLECTION), eq(Document.class));
+    }
+
+    @Test
+    void summaryPagesReadOnlyTheSummaryFields() {
+        DemandFilter filter = new DemandFilter();
+        filter.setView(DemandView.SUMMARY);
+
+        repository.findPageByUserId("ana", filter, null, 10);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(DemandEntity.class));
+        Document fields = query.getValue().getFieldsObject();
+        assertEquals(Set.copyOf(DemandRepositoryCustom.SUMMARY_FIELDS), fields.keySet());
+        assertTrue(fields.values().stream().allMatch(Integer.valueOf(1)::equals));
+    }
+
+    @Test
+    void fullPagesReadWholeDocuments() {
+        repository.findPageByUserId("ana", new DemandFilter(), null, 10);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(DemandEntity.class));
+        assertTrue(query.getValue().getFieldsObject().isEmpty());
+    }
+}
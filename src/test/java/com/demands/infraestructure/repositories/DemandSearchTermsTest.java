@@ -0,0 +1,36 @@
+package com.demands.infraestructure.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandSearchTermsTest {
+
+    @Test
+    void lowercasesStripsAccentsAndSplitsOnPunctuation() {
+        assertEquals(List.of("relatorio", "mensal", "2024", "financas"),
+                DemandSearchTerms.of("Relatório mensal/2024 - Finanças"));
+    }
+
+    @Test
+    void keepsEachTermOnceInFirstSeenOrder() {
+        assertEquals(List.of("revisar", "contrato"), DemandSearchTerms.of("Revisar contrato, revisar CONTRATO"));
+    }
+
+    @Test
+    void capsTheNumberOfTerms() {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            title.append("palavra").append(i).append(' ');
+        }
+        assertEquals(DemandSearchTerms.MAX_TERMS, DemandSearchTerms.of(title.toString()).size());
+    }
+
+    @Test
+    void blankTextHasNoTerms() {
+        assertTrue(DemandSearchTerms.of(null).isEmpty());
+        assertTrue(DemandSearchTerms.tokens("  -- ").isEmpty());
+    }
+}
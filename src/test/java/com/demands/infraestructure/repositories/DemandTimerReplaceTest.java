@@ -0,0 +1,107 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guard and attribution of {@link DemandBulkRepositoryImpl#replaceTimers}, against pre-images that already carry
+ * a {@code statusDate}, as every demand written since creation does.
+ */
+class DemandTimerReplaceTest {
+
+    private static final LocalDateTime RECEIVED = LocalDateTime.of(2026, 10, 1, 9, 0, 0, 123_456_789);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations operations = mock(BulkOperations.class);
+    private final List<Query> filters = new ArrayList<>();
+    private final List<Update> updates = new ArrayList<>();
+    private final DemandBulkRepositoryImpl repository = new DemandBulkRepositoryImpl(mongoTemplate);
+
+    private List<DemandEntity> preImages = List.of();
+    // Demands whose update loses the race: their read-back does not carry the batch stamp
+    private List<String> raced = List.of();
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DemandEntity.class)).thenReturn(operations);
+        when(operations.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            filters.add(invocation.getArgument(0));
+            updates.add(invocation.getArgument(1));
+            return operations;
+        });
+        when(mongoTemplate.find(any(Query.class), eq(DemandEntity.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            if (!query.getQueryObject().containsKey("batchId")) {
+                return preImages;
+            }
+            String batchId = query.getQueryObject().getString("batchId");
+            List<DemandEntity> written = new ArrayList<>();
+            for (int i = 0; i < updates.size(); i++) {
+                String demandId = filters.get(i).getQueryObject().getString("demandId");
+                if (!raced.contains(demandId)) {
+                    assertEquals(batchId, updates.get(i).getUpdateObject().get("$set", Document.class).get("batchId"));
+                    written.add(DemandEntity.builder().demandId(demandId).batchId(batchId).build());
+                }
+            }
+            return written;
+        });
+    }
+
+    private static DemandEntity demand(String demandId, LocalDateTime statusDate) {
+        return DemandEntity.builder().demandId(demandId).totalDuration(60).statusDate(statusDate).build();
+    }
+
+    private static TimerWrite write(String demandId) {
+        return new TimerWrite(demandId, RECEIVED.minusHours(1), RECEIVED, RECEIVED);
+    }
+
+    @Test
+    void stampsTheReceiptTimeSoALaterFlushedWriteStillApplies() {
+        // An earlier write was flushed after this one was received, but it stamped its own, older receipt time
+        preImages = List.of(demand("a", RECEIVED.minusSeconds(1)));
+
+        BulkTimerResult result = repository.replaceTimers(List.of(write("a")));
+
+        assertEquals(List.of("a"), List.copyOf(result.getPrevious().keySet()));
+        assertTrue(result.getConflicted().isEmpty());
+        Document set = updates.get(0).getUpdateObject().get("$set", Document.class);
+        assertEquals(RECEIVED.withNano(123_000_000), set.get("statusDate"));
+        assertEquals(RECEIVED.minusSeconds(1), filters.get(0).getQueryObject().get("statusDate"), "guarded by the pre-image");
+    }
+
+    @Test
+    void skipsAWriteTheDemandChangedAfter() {
+        preImages = List.of(demand("a", RECEIVED.plusSeconds(1)), demand("b", RECEIVED.withNano(123_000_000)));
+
+        BulkTimerResult result = repository.replaceTimers(List.of(write("a"), write("b")));
+
+        assertEquals(Map.of("b", preImages.get(1)), result.getPrevious());
+        assertEquals(1, updates.size(), "a same-millisecond pre-image does not supersede the write");
+    }
+
+    @Test
+    void reportsARacedWriteAsConflictedSoItIsRetried() {
+        preImages = List.of(demand("a", RECEIVED.minusSeconds(1)), demand("b", RECEIVED.minusSeconds(1)));
+        raced = List.of("b");
+
+        BulkTimerResult result = repository.replaceTimers(List.of(write("a"), write("b")));
+
+        assertEquals(List.of("a"), List.copyOf(result.getPrevious().keySet()));
+        assertEquals(List.of("b"), result.getConflicted().stream().map(TimerWrite::getDemandId).toList());
+    }
+}
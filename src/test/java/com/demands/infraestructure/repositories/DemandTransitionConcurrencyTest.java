@@ -0,0 +1,146 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.mongodb.client.MongoClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers pause/continue on one demand from many threads, and races bulk against single transitions, on a real MongoDB
+ * (embedded, or MONGODB_URI when set, e.g. mongodb://localhost:27017/demands_it).
+ */
+class DemandTransitionConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private DemandTransitionRepositoryImpl transitions;
+
+    @BeforeEach
+    void setUp() {
+        client = TestMongo.client();
+        mongoTemplate = new MongoTemplate(client, "demands_it");
+        mongoTemplate.dropCollection(DemandEntity.class);
+        transitions = new DemandTransitionRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client == null) {
+            return;
+        }
+        mongoTemplate.dropCollection(DemandEntity.class);
+        client.close();
+    }
+
+    @Test
+    void concurrentPauseAndContinueNeverLoseOrDoubleCountTime() throws Exception {
+        DemandEntity demand = mongoTemplate.insert(DemandEntity.builder()
+                .userId("user-1")
+                .description("concorrência")
+                .status(DemandStatus.IN_PROGRESS)
+                .startTime(LocalDateTime.now().minusHours(1))
+                .build());
+        String demandId = demand.getDemandId();
+
+        AtomicInteger pauses = new AtomicInteger();
+        AtomicInteger continues = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startedAt = System.currentTimeMillis();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                go.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (i % 2 == 0) {
+                        if (transitions.pauseIfRunning(demandId, LocalDateTime.now()) != null) {
+                            pauses.incrementAndGet();
+                        }
+                    } else if (transitions.continueIfPaused(demandId, LocalDateTime.now()) != null) {
+                        continues.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        long elapsedSeconds = (System.currentTimeMillis() - startedAt) / 1000;
+
+        // Successful transitions must strictly alternate, starting with a pause
+        int difference = pauses.get() - continues.get();
+        assertTrue(difference == 0 || difference == 1, "pauses=" + pauses + " continues=" + continues);
+        assertTrue(pauses.get() > 0);
+
+        DemandEntity result = mongoTemplate.findById(demandId, DemandEntity.class);
+        assertNotNull(result);
+        assertEquals(difference == 1 ? DemandStatus.PAUSED : DemandStatus.IN_PROGRESS, result.getStatus());
+        // The initial hour is counted exactly once; a lost update would count it again
+        assertTrue(result.getTotalDuration() >= 3600, "totalDuration=" + result.getTotalDuration());
+        assertTrue(result.getTotalDuration() <= 3600 + elapsedSeconds + 1, "totalDuration=" + result.getTotalDuration());
+    }
+
+    @Test
+    void closeIsRejectedOnceClosed() {
+        DemandEntity demand = mongoTemplate.insert(DemandEntity.builder()
+                .userId("user-1")
+                .description("encerrar")
+                .status(DemandStatus.PAUSED)
+                .startTime(LocalDateTime.now().minusMinutes(10))
+                .totalDuration(120)
+                .build());
+
+        DemandEntity previous = transitions.closeIfOpen(demand.getDemandId(), LocalDateTime.now());
+
+        assertNotNull(previous);
+        assertEquals(DemandStatus.PAUSED, previous.getStatus());
+        DemandEntity closed = mongoTemplate.findById(demand.getDemandId(), DemandEntity.class);
+        assertEquals(DemandStatus.CLOSED, closed.getStatus());
+        assertEquals(120, closed.getTotalDuration()); // paused time is not counted twice
+        assertNull(transitions.closeIfOpen(demand.getDemandId(), LocalDateTime.now()));
+        assertNull(transitions.continueIfPaused(demand.getDemandId(), LocalDateTime.now()));
+    }
+
+    @Test
+    void bulkTransitionDoesNotClaimASingleTransitionInTheSameMillisecond() {
+        DemandEntity demand = mongoTemplate.insert(DemandEntity.builder()
+                .userId("user-1")
+                .description("mesmo instante")
+                .status(DemandStatus.OPEN)
+                .build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // The single start wins; the bulk start finds the demand running and must not report it as its own
+        assertNotNull(transitions.startIfStartable(demand.getDemandId(), now));
+        BulkTransitionResult result = new DemandBulkRepositoryImpl(mongoTemplate)
+                .transitionAll(Map.of(demand.getDemandId(), DemandTransition.START), now);
+
+        assertTrue(result.getApplied().isEmpty());
+        assertEquals(Set.of(demand.getDemandId()), result.getExisting());
+    }
+}
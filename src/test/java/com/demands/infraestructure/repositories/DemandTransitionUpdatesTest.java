@@ -0,0 +1,98 @@
+package com.demands.infraestructure.repositories;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandTransitionUpdatesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 987_654_321);
+    private static final Object UNSET = new Object();
+
+    @Test
+    void pauseAddsTheRunningIntervalAtMillisecondPrecision() {
+        DemandEntity running = DemandEntity.builder().status(DemandStatus.IN_PROGRESS)
+                .startTime(NOW.minusSeconds(90).minusNanos(500_000_000)).totalDuration(10).build();
+
+        DemandEntity paused = DemandTransitionUpdates.afterTransition(running, DemandTransition.PAUSE, NOW);
+
+        assertEquals(DemandStatus.PAUSED, paused.getStatus());
+        assertEquals(100, paused.getTotalDuration());
+        assertEquals(NOW.withNano(987_000_000), paused.getPauseTime());
+        assertEquals(paused.getPauseTime(), paused.getStatusDate());
+    }
+
+    @Test
+    void closingAPausedDemandKeepsItsTotal() {
+        LocalDateTime pausedAt = NOW.minusHours(1);
+        DemandEntity paused = DemandEntity.builder().status(DemandStatus.PAUSED)
+                .startTime(NOW.minusHours(2)).pauseTime(pausedAt).totalDuration(3600).build();
+
+        DemandEntity closed = DemandTransitionUpdates.afterTransition(paused, DemandTransition.CLOSE, NOW);
+
+        assertEquals(DemandStatus.CLOSED, closed.getStatus());
+        assertEquals(3600, closed.getTotalDuration());
+        assertEquals(pausedAt, closed.getPauseTime());
+    }
+
+    @Test
+    void continueRestartsTheInterval() {
+        DemandEntity paused = DemandEntity.builder().status(DemandStatus.PAUSED)
+                .startTime(NOW.minusHours(2)).pauseTime(NOW.minusHours(1)).totalDuration(3600).build();
+
+        DemandEntity running = DemandTransitionUpdates.afterTransition(paused, DemandTransition.CONTINUE, NOW);
+
+        assertEquals(DemandStatus.IN_PROGRESS, running.getStatus());
+        assertEquals(NOW.withNano(987_000_000), running.getStartTime());
+        assertNull(running.getPauseTime());
+        assertEquals(3600, running.getTotalDuration());
+    }
+
+    @Test
+    void currentDurationAddsTheRunningIntervalOnlyWhileInProgress() {
+        DemandEntity running = DemandEntity.builder().status(DemandStatus.IN_PROGRESS)
+                .startTime(NOW.minusSeconds(90).minusNanos(500_000_000)).totalDuration(10).build();
+        DemandEntity paused = running.toBuilder().status(DemandStatus.PAUSED).build();
+
+        assertEquals(100, DemandTransitionUpdates.currentDuration(running, NOW));
+        assertEquals(DemandTransitionUpdates.afterTransition(running, DemandTransition.PAUSE, NOW).getTotalDuration(),
+                DemandTransitionUpdates.currentDuration(running, NOW));
+        assertEquals(10, DemandTransitionUpdates.currentDuration(paused, NOW));
+    }
+
+    @Test
+    void onlyBulkTransitionsCarryABatchStamp() {
+        for (DemandTransition transition : DemandTransition.values()) {
+            assertEquals("abc", stamp(DemandTransitionUpdates.update(transition, NOW, "abc")), transition.name());
+            assertEquals(UNSET, stamp(DemandTransitionUpdates.update(transition, NOW)), transition.name());
+        }
+    }
+
+    // The batchId the update writes, or UNSET when it removes the field
+    private static Object stamp(UpdateDefinition update) {
+        if (update instanceof Update plain) {
+            Document object = plain.getUpdateObject();
+            return object.containsKey("$unset") && object.get("$unset", Document.class).containsKey("batchId")
+                    ? UNSET : object.get("$set", Document.class).get("batchId");
+        }
+        Object stamp = null;
+        for (Document stage : ((AggregationUpdate) update).toPipeline(Aggregation.DEFAULT_CONTEXT)) {
+            if ("batchId".equals(stage.get("$unset"))) {
+                stamp = UNSET;
+            } else if (stage.containsKey("$set")) {
+                stamp = stage.get("$set", Document.class).get("batchId");
+            }
+        }
+        return stamp;
+    }
+}
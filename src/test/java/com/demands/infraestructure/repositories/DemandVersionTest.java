@@ -0,0 +1,54 @@
+package com.demands.infraestructure.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandVersionTest {
+
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_000_000);
+
+    @Test
+    void etagIsWeakAndStableForTheSameListAndRepresentation() {
+        String etag = new DemandVersion(3, MODIFIED, 7).etag("own|ana|null|null|null|null|null|20");
+
+        assertTrue(etag.startsWith("W/\"") && etag.endsWith("\""));
+        assertEquals(etag, new DemandVersion(3, MODIFIED, 7).etag("own|ana|null|null|null|null|null|20"));
+    }
+
+    @Test
+    void etagChangesWithCountLastModifiedChecksumOrRepresentation() {
+        String etag = new DemandVersion(3, MODIFIED, 7).etag("own|ana");
+
+        assertNotEquals(etag, new DemandVersion(2, MODIFIED, 7).etag("own|ana"));
+        assertNotEquals(etag, new DemandVersion(3, MODIFIED.plusNanos(1_000_000), 7).etag("own|ana"));
+        assertNotEquals(etag, new DemandVersion(3, MODIFIED, 8).etag("own|ana"));
+        assertNotEquals(etag, new DemandVersion(3, MODIFIED, 7).etag("own|bia"));
+    }
+
+    @Test
+    void etagCarriesA128BitDigestOfTheRepresentation() {
+        String etag = new DemandVersion(3, MODIFIED, 7).etag("own|ana");
+
+        String digest = etag.substring(etag.lastIndexOf('-') + 1, etag.length() - 1);
+        assertTrue(digest.matches("[0-9a-f]{32}"), digest);
+    }
+
+    @Test
+    void emptyVersionHasNoLastModified() {
+        assertTrue(DemandVersion.EMPTY.isEmpty());
+        assertEquals(-1, DemandVersion.EMPTY.lastModifiedMillis());
+    }
+
+    @Test
+    void hotAndArchivedVersionsAddUp() {
+        DemandVersion history = new DemandVersion(3, MODIFIED, 7).plus(new DemandVersion(5, MODIFIED.minusYears(1), 7));
+
+        assertEquals(8, history.getCount());
+        assertEquals(MODIFIED, history.getLastModified());
+        assertEquals(14, history.getChecksum());
+        assertEquals(new DemandVersion(3, MODIFIED, 7), DemandVersion.EMPTY.plus(new DemandVersion(3, MODIFIED, 7)));
+    }
+}
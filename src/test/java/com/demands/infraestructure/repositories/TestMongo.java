@@ -0,0 +1,52 @@
+package com.demands.infraestructure.repositories;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.junit.jupiter.api.Assumptions;
+
+/**
+ * MongoDB for the repository tests that need a real server: MONGODB_URI when set, otherwise an embedded mongod
+ * started once per test JVM and stopped when it exits.
+ */
+final class TestMongo {
+
+    private static String uri;
+    // Why the embedded mongod could not start, so later tests do not try again
+    private static String unavailable;
+
+    private TestMongo() {
+    }
+
+    static synchronized MongoClient client() {
+        Assumptions.assumeTrue(unavailable == null, () -> unavailable);
+        if (uri == null) {
+            uri = resolve();
+        }
+        return MongoClients.create(uri);
+    }
+
+    private static String resolve() {
+        String configured = System.getenv("MONGODB_URI");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        try {
+            // Pipeline updates and $unionWith need a 4.4+ server
+            TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+            Runtime.getRuntime().addShutdownHook(new Thread(mongod::close));
+            return "mongodb://" + mongod.current().getServerAddress();
+        } catch (RuntimeException e) {
+            // Only where the mongod binary can neither be found nor downloaded
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            unavailable = "No MONGODB_URI and the embedded mongod could not start: " + cause;
+            return Assumptions.abort(unavailable);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.demands.load;
+
+import com.demands.dtos.ReaperResultDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.locks.LeaseLock;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.DemandBulkRepositoryImpl;
+import com.demands.infraestructure.repositories.DemandRepository;
+import com.demands.infraestructure.repositories.DemandRepositoryImpl;
+import com.demands.services.DemandEventPublisher;
+import com.demands.services.DemandReaperService;
+import com.demands.services.DemandTimeRollupService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures reaper throughput against a real MongoDB (set MONGODB_URI, e.g. mongodb://localhost:27017/demands_it):
+ * seeds REAPER_BENCH_SIZE running demands (default 1,000,000), all past the idle threshold, and pauses them in
+ * one run. Rollups and events are mocked out so only the Mongo side is measured.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+class DemandReaperThroughputTest {
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("MONGODB_URI"));
+        mongoTemplate = new MongoTemplate(client, "demands_it");
+        mongoTemplate.dropCollection(DemandEntity.class);
+        mongoTemplate.dropCollection("demand_locks");
+        mongoTemplate.indexOps(DemandEntity.class).ensureIndex(new Index("startTime", Sort.Direction.ASC)
+                .named("active_startTime")
+                .partial(PartialIndexFilter.of(Criteria.where("status").is(DemandStatus.IN_PROGRESS.name()))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(DemandEntity.class);
+        mongoTemplate.dropCollection("demand_locks");
+        client.close();
+    }
+
+    @Test
+    void pausesOneMillionRunningDemands() {
+        int size = Integer.parseInt(System.getenv().getOrDefault("REAPER_BENCH_SIZE", "1000000"));
+        int batchSize = Integer.parseInt(System.getenv().getOrDefault("REAPER_BENCH_BATCH", "1000"));
+        seed(size);
+
+        DemandRepository demandRepository = mock(DemandRepository.class);
+        DemandRepositoryImpl finders = new DemandRepositoryImpl(mongoTemplate);
+        DemandBulkRepositoryImpl bulk = new DemandBulkRepositoryImpl(mongoTemplate);
+        when(demandRepository.findRunningStartedBefore(any(), anyInt()))
+                .thenAnswer(invocation -> finders.findRunningStartedBefore(invocation.getArgument(0), invocation.getArgument(1)));
+        when(demandRepository.transitionAll(anyMap(), any()))
+                .thenAnswer(invocation -> bulk.transitionAll(invocation.getArgument(0), invocation.getArgument(1)));
+
+        DemandReaperService reaper = new DemandReaperService(demandRepository, mock(DemandTimeRollupService.class),
+                mock(DemandEventPublisher.class), new DemandMetrics(new SimpleMeterRegistry()),
+                new LeaseLock(mongoTemplate), Duration.ofHours(12), "pause", batchSize, Integer.MAX_VALUE,
+                Duration.ofMinutes(5));
+
+        ReaperResultDTO result = reaper.run();
+
+        System.out.printf("reaped %d demands in %d batches of %d: %d ms, %.0f demands/s%n", result.getReaped(),
+                result.getBatches(), batchSize, result.getElapsedMillis(),
+                result.getReaped() * 1000.0 / Math.max(1, result.getElapsedMillis()));
+        assertEquals(size, result.getReaped());
+        assertEquals(0, mongoTemplate.count(new Query(Criteria.where("status").is(DemandStatus.IN_PROGRESS)), DemandEntity.class));
+    }
+
+    private void seed(int size) {
+        LocalDateTime startTime = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MILLIS);
+        DemandBulkRepositoryImpl bulk = new DemandBulkRepositoryImpl(mongoTemplate);
+        for (int seeded = 0; seeded < size; seeded += SEED_CHUNK) {
+            List<DemandEntity> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = seeded; i < Math.min(size, seeded + SEED_CHUNK); i++) {
+                chunk.add(DemandEntity.builder()
+                        .demandId(new ObjectId().toHexString())
+                        .userId("user-" + (i % 1000))
+                        .groupId("group-" + (i % 50))
+                        .description("reaper benchmark")
+                        .status(DemandStatus.IN_PROGRESS)
+                        .startTime(startTime.plusNanos((i % 1000) * 1_000_000L))
+                        .statusDate(startTime)
+                        .totalDuration(0L)
+                        .build());
+            }
+            assertTrue(bulk.insertAll(chunk).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.demands.load;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.repositories.DemandBulkRepositoryImpl;
+import com.demands.infraestructure.repositories.DemandRepositoryImpl;
+import com.demands.infraestructure.repositories.DemandSearchTerms;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Type-ahead latency against a real MongoDB (set MONGODB_URI, e.g. mongodb://localhost:27017/demands_it):
+ * seeds SEARCH_BENCH_SIZE demands (default 1,000,000) over 1000 users and 50 groups with the production
+ * indexes, then times random 3-letter prefix lookups in user and group scope. The target is p99 under 20 ms.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+class DemandSearchLatencyTest {
+
+    private static final int SEED_CHUNK = 10_000;
+    private static final int LOOKUPS = 2_000;
+    private static final String[] WORDS = {"relatorio", "contrato", "revisao", "reuniao", "planilha", "orcamento",
+            "cliente", "fatura", "auditoria", "campanha", "servidor", "backup", "treinamento", "proposta", "entrega"};
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("MONGODB_URI"));
+        mongoTemplate = new MongoTemplate(client, "demands_it");
+        mongoTemplate.dropCollection(DemandEntity.class);
+        IndexOperations indexOps = mongoTemplate.indexOps(DemandEntity.class);
+        new MongoPersistentEntityIndexResolver(new MongoMappingContext())
+                .resolveIndexFor(DemandEntity.class)
+                .forEach(indexOps::ensureIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(DemandEntity.class);
+        client.close();
+    }
+
+    @Test
+    void prefixLookupsStayUnderTwentyMillisecondsAtOneMillionDemands() {
+        int size = Integer.parseInt(System.getenv().getOrDefault("SEARCH_BENCH_SIZE", "1000000"));
+        seed(size);
+        DemandRepositoryImpl repository = new DemandRepositoryImpl(mongoTemplate);
+        Random random = new Random(42);
+
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String prefix = WORDS[random.nextInt(WORDS.length)].substring(0, 3);
+            String userId = "user-" + random.nextInt(1000);
+            String groupId = i % 2 == 0 ? null : "group-" + random.nextInt(50);
+            long started = System.nanoTime();
+            repository.suggestByTitlePrefix(prefix, userId, groupId, 10);
+            nanos[i] = System.nanoTime() - started;
+        }
+
+        Arrays.sort(nanos);
+        double p50 = nanos[LOOKUPS / 2] / 1e6;
+        double p99 = nanos[(int) Math.ceil(LOOKUPS * 0.99) - 1] / 1e6;
+        System.out.printf("%d demands, %d lookups: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                size, LOOKUPS, p50, p99, nanos[LOOKUPS - 1] / 1e6);
+        assertTrue(p99 < 20, "p99 " + p99 + " ms");
+    }
+
+    private void seed(int size) {
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        DemandBulkRepositoryImpl bulk = new DemandBulkRepositoryImpl(mongoTemplate);
+        Random random = new Random(7);
+        for (int seeded = 0; seeded < size; seeded += SEED_CHUNK) {
+            List<DemandEntity> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = seeded; i < Math.min(size, seeded + SEED_CHUNK); i++) {
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+                chunk.add(DemandEntity.builder()
+                        .demandId(new ObjectId().toHexString())
+                        .userId("user-" + (i % 1000))
+                        .userIds(List.of("user-" + ((i + 7) % 1000)))
+                        .groupId("group-" + (i % 50))
+                        .title(title)
+                        .description("Demanda de teste para " + title)
+                        .status(DemandStatus.OPEN)
+                        .searchTerms(DemandSearchTerms.of(title))
+                        .statusDate(base.plusSeconds(i))
+                        .build());
+            }
+            assertTrue(bulk.insertAll(chunk).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.demands.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares p99 latency and sustained concurrency of two running instances: one started with platform threads
+ * and one with the {@code virtual-threads} profile (Java 21). Skipped unless both URLs are given:
+ * <pre>
+ * LOAD_TEST_PLATFORM_URL=http://localhost:8080 LOAD_TEST_VIRTUAL_URL=http://localhost:8081 \
+ * LOAD_TEST_TOKEN=... mvn test -Dtest=ThreadingModeLoadTest
+ * </pre>
+ * Optional: LOAD_TEST_PATH (default /demands/all), LOAD_TEST_CONCURRENCY (default 50,200,800),
+ * LOAD_TEST_REQUESTS per level (default 4000), LOAD_TEST_RESULT_FILE (default target/threading-mode-load.json).
+ * Each level is logged and all of them are written to the result file as JSON, for comparison between runs.
+ */
+@EnabledIfEnvironmentVariable(named = "LOAD_TEST_PLATFORM_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "LOAD_TEST_VIRTUAL_URL", matches = ".+")
+class ThreadingModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        String path = env("LOAD_TEST_PATH", "/demands/all");
+        int requests = Integer.parseInt(env("LOAD_TEST_REQUESTS", "4000"));
+        int[] levels = Arrays.stream(env("LOAD_TEST_CONCURRENCY", "50,200,800").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (int concurrency : levels) {
+            for (String mode : List.of("platform", "virtual")) {
+                String baseUrl = System.getenv(mode.equals("platform") ? "LOAD_TEST_PLATFORM_URL" : "LOAD_TEST_VIRTUAL_URL");
+                Result result = run(baseUrl + path, concurrency, requests);
+                log.info("{} threads, concurrency {}: {} req/s, p50 {} ms, p99 {} ms, max {} ms, {} errors", mode, concurrency,
+                        Math.round(result.throughput), result.percentile(50), result.percentile(99), result.percentile(100), result.errors);
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("mode", mode);
+                entry.put("path", path);
+                entry.put("concurrency", concurrency);
+                entry.put("requests", requests);
+                entry.put("throughput", result.throughput);
+                entry.put("p50Ms", result.percentile(50));
+                entry.put("p99Ms", result.percentile(99));
+                entry.put("maxMs", result.percentile(100));
+                entry.put("errors", result.errors);
+                report.add(entry);
+                assertTrue(result.errors < requests / 100, mode + " failed " + result.errors + " of " + requests + " requests");
+            }
+        }
+        Path resultFile = Path.of(env("LOAD_TEST_RESULT_FILE", "target/threading-mode-load.json"));
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(resultFile.toFile(), report);
+        log.info("Wrote {} results to {}", report.size(), resultFile.toAbsolutePath());
+    }
+
+    private Result run(String url, int concurrency, int requests) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        String token = System.getenv("LOAD_TEST_TOKEN");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> pending = new ArrayList<>(requests);
+        long started = System.nanoTime();
+
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies.add(System.nanoTime() - sent);
+                        if (error != null || response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted, requests / seconds, errors.get());
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private record Result(long[] sortedNanos, double throughput, int errors) {
+
+        double percentile(int percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
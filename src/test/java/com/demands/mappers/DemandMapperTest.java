@@ -0,0 +1,80 @@
+package com.demands.mappers;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.DemandSummaryDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandMapperTest {
+
+    private final DemandMapper demandMapper = Mappers.getMapper(DemandMapper.class);
+
+    @Test
+    void mapsEveryDTOFieldAndKeepsServerOwnedFieldsOutOfTheEntity() {
+        LocalDateTime now = LocalDateTime.now();
+        DemandEntity entity = DemandEntity.builder()
+                .demandId("a").userId("ana").userIds(List.of("bia")).description("d")
+                .status(DemandStatus.PAUSED).startTime(now).pauseTime(now).totalDuration(42).autoStart(true)
+                .statusDate(now).groupId("g").endTime(now)
+                .build();
+
+        DemandDTO dto = demandMapper.toDTO(entity);
+        assertEquals("a", dto.getDemandId());
+        assertSame(entity.getUserIds(), dto.getUserIds());
+        assertEquals(DemandStatus.PAUSED, dto.getStatus());
+        assertEquals(42, dto.getTotalDuration());
+        assertEquals(42, dto.getElapsedSeconds(), "paused demands do not accrue time");
+        assertTrue(dto.isAutoStart());
+        assertEquals(now, dto.getStatusDate());
+
+        DemandEntity back = demandMapper.toEntity(dto);
+        assertEquals("ana", back.getUserId());
+        assertNull(back.getGroupId());
+        assertNull(back.getEndTime());
+    }
+
+    @Test
+    void viewMapsOnReadWithoutCopyingTheSource() {
+        List<DemandEntity> entities = new ArrayList<>(List.of(DemandEntity.builder().demandId("a").build()));
+        List<DemandDTO> view = demandMapper.toDTOView(entities);
+
+        entities.add(DemandEntity.builder().demandId("b").build());
+
+        assertEquals(2, view.size());
+        assertEquals("b", view.get(1).getDemandId());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new DemandDTO()));
+    }
+
+    @Test
+    void activeTimerCarriesTheElapsedTimeOfTheRunningInterval() {
+        DemandEntity running = DemandEntity.builder().demandId("a").status(DemandStatus.IN_PROGRESS)
+                .startTime(LocalDateTime.now().minusMinutes(2)).totalDuration(30).build();
+
+        long elapsed = demandMapper.toActiveTimer(running).getElapsedSeconds();
+
+        assertTrue(elapsed >= 150 && elapsed < 160, "elapsed " + elapsed);
+    }
+
+    @Test
+    void summaryRowNeedsOnlyTheProjectedFields() {
+        // What a view=SUMMARY page reads back from Mongo
+        DemandEntity projected = DemandEntity.builder().demandId("a").userId("ana").title("t")
+                .status(DemandStatus.IN_PROGRESS).startTime(LocalDateTime.now().minusMinutes(1)).totalDuration(30)
+                .statusDate(LocalDateTime.now()).build();
+
+        DemandSummaryDTO summary = demandMapper.toSummaryView(List.of(projected)).get(0);
+
+        assertEquals("a", summary.getDemandId());
+        assertEquals("t", summary.getTitle());
+        assertEquals(30, summary.getTotalDuration());
+        assertTrue(summary.getElapsedSeconds() >= 90, "running time is computed from the projected startTime");
+    }
+}
@@ -0,0 +1,53 @@
+package com.demands.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 100, Duration.ofMinutes(5));
+
+    private String token(String subject) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("role", "MANAGER")
+                .claim("groupId", "group-1")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Test
+    void parsesTokenOnceAndServesRepeatedLookupsFromCache() {
+        String token = token("user-1");
+
+        JwtPrincipal principal = jwtUtil.extractPrincipal(token);
+        assertEquals("user-1", jwtUtil.extractUserId(token));
+        assertEquals("MANAGER", jwtUtil.extractRole(token));
+        assertEquals("group-1", jwtUtil.extractGroupId(token));
+
+        assertEquals("user-1", principal.getUserId());
+        assertEquals("MANAGER", principal.getRole());
+        assertEquals("group-1", principal.getGroupId());
+        assertEquals(1, jwtUtil.getClaimsCacheStats().missCount());
+        assertEquals(3, jwtUtil.getClaimsCacheStats().hitCount());
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        // Swap in another subject's payload; editing the last signature characters can leave the decoded bytes unchanged
+        String[] parts = token("user-1").split("\\.");
+        String tampered = parts[0] + "." + token("user-2").split("\\.")[1] + "." + parts[2];
+
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil.extractClaims(tampered));
+    }
+}
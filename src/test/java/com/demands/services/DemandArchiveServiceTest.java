@@ -0,0 +1,74 @@
+package com.demands.services;
+
+import com.demands.dtos.ArchiveResultDTO;
+import com.demands.infraestructure.cache.DemandCache;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.locks.LeaseLock;
+import com.demands.infraestructure.repositories.DemandRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DemandArchiveServiceTest {
+
+    private final DemandRepository demandRepository = mock(DemandRepository.class);
+    private final DemandCache demandCache = mock(DemandCache.class);
+    private final LeaseLock leaseLock = mock(LeaseLock.class);
+    private final DemandArchiveService archive = new DemandArchiveService(demandRepository, demandCache, leaseLock,
+            Duration.ofDays(180), 2, 100, Duration.ofMinutes(5));
+
+    private static DemandEntity closed(String demandId) {
+        return DemandEntity.builder().demandId(demandId).status(DemandStatus.CLOSED)
+                .statusDate(LocalDateTime.now().minusYears(1)).build();
+    }
+
+    @Test
+    void movesOldClosedDemandsBatchByBatchUntilNoneAreLeft() {
+        when(leaseLock.tryAcquire(eq("demand-archive"), any())).thenReturn(true);
+        List<DemandEntity> first = List.of(closed("a"), closed("b"));
+        List<DemandEntity> second = List.of(closed("c"));
+        when(demandRepository.findClosedBefore(argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(179))), eq(2)))
+                .thenReturn(first, second, List.of());
+        when(demandRepository.archive(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ArchiveResultDTO result = archive.run();
+
+        assertTrue(result.isLeaseAcquired());
+        assertEquals(2, result.getBatches());
+        assertEquals(3, result.getArchived());
+        verify(demandCache).evict(first);
+        verify(demandCache).evict(second);
+        verify(leaseLock).release("demand-archive");
+    }
+
+    @Test
+    void stopsWhenEveryCandidateChangedWhileBeingCopied() {
+        when(leaseLock.tryAcquire(any(), any())).thenReturn(true);
+        when(demandRepository.findClosedBefore(any(), anyInt())).thenReturn(List.of(closed("a")));
+        when(demandRepository.archive(anyList())).thenReturn(List.of());
+
+        ArchiveResultDTO result = archive.run();
+
+        assertEquals(0, result.getBatches());
+        verify(demandRepository, times(1)).archive(anyList());
+        verifyNoInteractions(demandCache);
+    }
+
+    @Test
+    void skipsTheRunWhenAnotherNodeHoldsTheLease() {
+        when(leaseLock.tryAcquire(any(), any())).thenReturn(false);
+
+        ArchiveResultDTO result = archive.run();
+
+        assertFalse(result.isLeaseAcquired());
+        verifyNoInteractions(demandRepository);
+        verify(leaseLock, never()).release(any());
+    }
+}
@@ -0,0 +1,98 @@
+package com.demands.services;
+
+import com.demands.dtos.BatchItemResultDTO;
+import com.demands.dtos.TransitionRequestDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.exceptions.InvalidBatchException;
+import com.demands.infraestructure.repositories.BulkTransitionResult;
+import com.demands.infraestructure.repositories.DemandRepository;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DemandBatchServiceTest {
+
+    private final DemandRepository demandRepository = mock(DemandRepository.class);
+    private final DemandTimeRollupService rollupService = mock(DemandTimeRollupService.class);
+    private final DemandBatchService batchService = new DemandBatchService(demandRepository,
+            Validation.buildDefaultValidatorFactory().getValidator(), rollupService, mock(DemandEventPublisher.class));
+
+    @Test
+    void createsValidItemsInOneBulkAndReportsInvalidOnesPerItem() {
+        when(demandRepository.insertAll(anyList())).thenReturn(Map.of());
+
+        List<BatchItemResultDTO> results = batchService.createDemands(List.of(
+                DemandEntity.builder().userId("ana").description("ok").autoStart(true).build(),
+                DemandEntity.builder().userId("ana").build(),
+                DemandEntity.builder().userId("ana").description("ok").build()));
+
+        verify(demandRepository, times(1)).insertAll(argThat(demands -> demands.size() == 2
+                && demands.get(0).getStatus() == DemandStatus.IN_PROGRESS
+                && demands.get(1).getStatus() == DemandStatus.OPEN
+                && demands.stream().allMatch(demand -> demand.getDemandId() != null)));
+        assertEquals(List.of(201, 400, 201), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        assertNull(results.get(1).getDemandId());
+    }
+
+    @Test
+    void reportsDuplicateKeyWithoutServerDetails() {
+        BulkWriteError duplicate = new BulkWriteError(11000,
+                "E11000 duplicate key error collection: demands.demand_entity index: _id_", new BsonDocument(), 0);
+        when(demandRepository.insertAll(anyList())).thenReturn(Map.of(0, duplicate));
+
+        List<BatchItemResultDTO> results = batchService.createDemands(List.of(
+                DemandEntity.builder().userId("ana").description("ok").build()));
+
+        assertEquals(409, results.get(0).getStatus());
+        assertFalse(results.get(0).getMessage().contains("E11000"));
+    }
+
+    @Test
+    void mapsBulkTransitionOutcomeBackToRequestOrder() {
+        DemandEntity paused = DemandEntity.builder().demandId("a").status(DemandStatus.PAUSED).build();
+        when(demandRepository.transitionAll(anyMap(), any()))
+                .thenReturn(new BulkTransitionResult(Map.of("a", paused), Set.of("a", "b")));
+
+        List<BatchItemResultDTO> results = batchService.transitionDemands(List.of(
+                new TransitionRequestDTO("a", DemandTransition.PAUSE),
+                new TransitionRequestDTO("b", DemandTransition.CONTINUE),
+                new TransitionRequestDTO("a", DemandTransition.CLOSE),
+                new TransitionRequestDTO("c", DemandTransition.CLOSE),
+                new TransitionRequestDTO(null, DemandTransition.START)));
+
+        assertEquals(List.of(200, 409, 400, 404, 400), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        verify(demandRepository).transitionAll(eq(Map.of(
+                "a", DemandTransition.PAUSE, "b", DemandTransition.CONTINUE, "c", DemandTransition.CLOSE)), any());
+        verify(rollupService).recordIntervals(eq(List.of(paused)), any());
+    }
+
+    @Test
+    void deletesEachIdOnceAndReportsRepeatsAsNotFound() {
+        List<DemandEntity> existing = List.of(DemandEntity.builder().demandId("a").userId("ana").build());
+        when(demandRepository.deleteAllExisting(Set.of("a", "b"))).thenReturn(existing);
+
+        List<BatchItemResultDTO> results = batchService.deleteDemands(List.of("a", "b", "a"));
+
+        assertEquals(List.of(200, 404, 404), results.stream().map(BatchItemResultDTO::getStatus).toList());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        assertThrows(InvalidBatchException.class, () -> batchService.deleteDemands(List.of()));
+        List<String> tooMany = Collections.nCopies(DemandBatchService.MAX_BATCH_SIZE + 1, "x");
+        assertThrows(InvalidBatchException.class, () -> batchService.deleteDemands(tooMany));
+        verifyNoInteractions(demandRepository);
+    }
+}
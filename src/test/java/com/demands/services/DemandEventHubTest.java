@@ -0,0 +1,100 @@
+package com.demands.services;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.events.DemandChangedEvent;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.security.JwtPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandEventHubTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Map<String, BlockingQueue<SseEmitter.SseEventBuilder>> received = new ConcurrentHashMap<>();
+    private String subscribing;
+
+    // Two sender threads, two pending events per subscriber; "slow" never finishes a write until released
+    private final DemandEventHub hub = new DemandEventHub(Duration.ofMinutes(1), 2, 2, Duration.ofSeconds(10)) {
+        @Override
+        SseEmitter createEmitter(long timeoutMillis) {
+            String userId = subscribing;
+            BlockingQueue<SseEmitter.SseEventBuilder> events = received.computeIfAbsent(userId, k -> new LinkedBlockingQueue<>());
+            return new SseEmitter(timeoutMillis) {
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                    if (userId.equals("slow")) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    events.add(builder);
+                }
+            };
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hub.shutdown();
+    }
+
+    private void subscribe(String userId) {
+        subscribing = userId;
+        hub.subscribe(new JwtPrincipal(userId, "USER", "g"));
+    }
+
+    private static DemandChangedEvent changed(String userId) {
+        return DemandChangedEvent.of(DemandEventType.UPDATED, DemandEntity.builder().demandId(userId + "-1").userId(userId).build());
+    }
+
+    @Test
+    void blockedSubscriberDoesNotDelayOthers() throws Exception {
+        subscribe("slow");
+        subscribe("fast");
+
+        hub.onDemandChanged(changed("slow"));
+        hub.onDemandChanged(changed("fast"));
+
+        assertNotNull(received.get("fast").poll(2, TimeUnit.SECONDS), "fast subscriber got its event");
+        assertTrue(received.get("slow").isEmpty());
+    }
+
+    @Test
+    void subscriberFallingBehindIsDropped() throws Exception {
+        subscribe("slow");
+        hub.onDemandChanged(changed("slow"));
+        // The first event is being written; two more fill the queue and the next one overflows it
+        Thread.sleep(100);
+        for (int i = 0; i < 3; i++) {
+            hub.onDemandChanged(changed("slow"));
+        }
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void clearingEveryDemandReachesEverySubscriber() throws Exception {
+        subscribe("ana");
+        subscribe("bia");
+
+        hub.onDemandChanged(DemandChangedEvent.cleared());
+
+        assertNotNull(received.get("ana").poll(2, TimeUnit.SECONDS));
+        assertNotNull(received.get("bia").poll(2, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,72 @@
+package com.demands.services;
+
+import com.demands.dtos.DemandDTO;
+import com.demands.dtos.ExportFormat;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandExportServiceTest {
+
+    private final DemandExportService exportService = new DemandExportService(new ObjectMapper().findAndRegisterModules());
+
+    private Stream<DemandDTO> demands() {
+        return Stream.of(
+                DemandDTO.builder().demandId("1").userId("ana").title("Relatório").status(DemandStatus.OPEN).build(),
+                DemandDTO.builder().demandId("2").userId("bia").userIds(List.of("ana", "caio"))
+                        .description("linha com, vírgula e \"aspas\"").totalDuration(90).build());
+    }
+
+    @Test
+    void writesOneJsonDocumentPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.write(demands(), ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"demandId\":\"1\""));
+        assertTrue(lines[1].startsWith("{\"demandId\":\"2\""), "no root value separator before a row");
+        assertTrue(lines[1].contains("\"totalDuration\":90"));
+    }
+
+    @Test
+    void writesCsvWithHeaderAndEscapedFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.write(demands(), ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("demandId,userId,userIds"));
+        assertEquals("2,bia,ana;caio,,\"linha com, vírgula e \"\"aspas\"\"\",,,,,,,90,false,", lines[2]);
+    }
+
+    @Test
+    void flushesNdjsonOncePerBatch() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        exportService.write(IntStream.range(0, 1000).mapToObj(i -> DemandDTO.builder().demandId(String.valueOf(i)).build()),
+                ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1000, lines.length);
+        // One flush per FLUSH_EVERY rows, plus the one on close
+        assertTrue(flushes.get() <= 1000 / DemandExportService.FLUSH_EVERY + 1, flushes.get() + " flushes");
+    }
+}
@@ -0,0 +1,88 @@
+package com.demands.services;
+
+import com.demands.dtos.ReaperResultDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.locks.LeaseLock;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.BulkTransitionResult;
+import com.demands.infraestructure.repositories.DemandRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DemandReaperServiceTest {
+
+    private final DemandRepository demandRepository = mock(DemandRepository.class);
+    private final DemandTimeRollupService rollupService = mock(DemandTimeRollupService.class);
+    private final DemandEventPublisher eventPublisher = mock(DemandEventPublisher.class);
+    private final LeaseLock leaseLock = mock(LeaseLock.class);
+
+    private DemandReaperService reaper(String action) {
+        return new DemandReaperService(demandRepository, rollupService, eventPublisher,
+                new DemandMetrics(new SimpleMeterRegistry()), leaseLock,
+                Duration.ofHours(12), action, 2, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void pausesIdleDemandsBatchByBatchUntilNoneAreLeft() {
+        when(leaseLock.tryAcquire(eq("demand-reaper"), any())).thenReturn(true);
+        when(demandRepository.findRunningStartedBefore(any(), eq(2)))
+                .thenReturn(List.of("a", "b"), List.of("c"), List.of());
+        when(demandRepository.transitionAll(anyMap(), any())).thenAnswer(invocation -> {
+            Map<String, DemandTransition> transitions = invocation.getArgument(0);
+            assertTrue(transitions.values().stream().allMatch(transition -> transition == DemandTransition.PAUSE));
+            Map<String, DemandEntity> applied = new HashMap<>();
+            transitions.keySet().forEach(id -> applied.put(id, DemandEntity.builder().demandId(id).status(DemandStatus.PAUSED).build()));
+            return new BulkTransitionResult(applied, transitions.keySet());
+        });
+
+        ReaperResultDTO result = reaper("pause").run();
+
+        assertTrue(result.isLeaseAcquired());
+        assertEquals(2, result.getBatches());
+        assertEquals(3, result.getReaped());
+        verify(rollupService, times(2)).recordIntervals(anyCollection(), any());
+        verify(eventPublisher, times(2)).publishAll(eq(DemandEventType.PAUSED), anyCollection());
+        verify(leaseLock).release("demand-reaper");
+    }
+
+    @Test
+    void stopsWhenEveryCandidateChangedBeforeTheWrite() {
+        when(leaseLock.tryAcquire(any(), any())).thenReturn(true);
+        when(demandRepository.findRunningStartedBefore(any(), anyInt())).thenReturn(List.of("a"));
+        when(demandRepository.transitionAll(anyMap(), any())).thenReturn(new BulkTransitionResult(Map.of(), Set.of("a")));
+
+        ReaperResultDTO result = reaper("close").run();
+
+        assertEquals(0, result.getBatches());
+        verify(demandRepository, times(1)).transitionAll(eq(Map.of("a", DemandTransition.CLOSE)), any());
+    }
+
+    @Test
+    void skipsTheRunWhenAnotherNodeHoldsTheLease() {
+        when(leaseLock.tryAcquire(any(), any())).thenReturn(false);
+
+        ReaperResultDTO result = reaper("pause").run();
+
+        assertFalse(result.isLeaseAcquired());
+        verifyNoInteractions(demandRepository);
+        verify(leaseLock, never()).release(any());
+    }
+
+    @Test
+    void rejectsActionsOtherThanPauseOrClose() {
+        assertThrows(IllegalArgumentException.class, () -> reaper("start"));
+    }
+}
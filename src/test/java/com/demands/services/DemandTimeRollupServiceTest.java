@@ -0,0 +1,99 @@
+package com.demands.services;
+
+import com.demands.dtos.RollupRebuildDTO;
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandTimeRollupEntity;
+import com.demands.infraestructure.entity.DemandType;
+import com.demands.infraestructure.repositories.DemandTimeRollupRepository;
+import com.demands.infraestructure.repositories.RollupDrift;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DemandTimeRollupServiceTest {
+
+    private final DemandTimeRollupRepository rollupRepository = mock(DemandTimeRollupRepository.class);
+    private final DemandTimeRollupService rollupService = new DemandTimeRollupService(rollupRepository);
+
+    @SuppressWarnings("unchecked")
+    private List<DemandTimeRollupEntity> captureIncrements() {
+        ArgumentCaptor<Collection<DemandTimeRollupEntity>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).incrementAll(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    @Test
+    void mergesIntervalsOfTheSameBucketIntoOneIncrement() {
+        LocalDateTime end = LocalDateTime.of(2024, 5, 1, 18, 0);
+        DemandEntity first = DemandEntity.builder().groupId("g").userId("ana").type(DemandType.Coding).startTime(end.minusMinutes(30)).build();
+        DemandEntity second = DemandEntity.builder().groupId("g").userId("ana").type(DemandType.Coding).startTime(end.minusSeconds(90)).build();
+        DemandEntity other = DemandEntity.builder().groupId("g").userId("bia").type(DemandType.Meeting).startTime(end.minusHours(1)).build();
+
+        rollupService.recordIntervals(List.of(first, second, other), end);
+
+        List<DemandTimeRollupEntity> increments = captureIncrements();
+        assertEquals(2, increments.size());
+        assertEquals("2024-05-01", increments.get(0).getDay());
+        assertEquals(1800 + 90, increments.get(0).getSeconds());
+        assertEquals(3600, increments.get(1).getSeconds());
+    }
+
+    @Test
+    void recordsNegativeAdjustmentsAndSkipsZero() {
+        DemandEntity demand = DemandEntity.builder().groupId("g").userId("ana").type(DemandType.Coding).build();
+
+        rollupService.recordAdjustment(demand, -120, LocalDateTime.of(2024, 5, 2, 9, 0));
+
+        assertEquals(-120, captureIncrements().get(0).getSeconds());
+    }
+
+    @Test
+    void splitsARunningIntervalAtEachMidnight() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 23, 30);
+        DemandEntity demand = DemandEntity.builder().groupId("g").userId("ana").type(DemandType.Coding).startTime(start).build();
+
+        rollupService.recordInterval(demand, LocalDateTime.of(2024, 5, 3, 0, 15));
+
+        List<DemandTimeRollupEntity> increments = captureIncrements();
+        assertEquals(List.of("2024-05-01", "2024-05-02", "2024-05-03"),
+                increments.stream().map(DemandTimeRollupEntity::getDay).toList());
+        assertEquals(List.of(1800L, 86400L, 900L), increments.stream().map(DemandTimeRollupEntity::getSeconds).toList());
+    }
+
+    @Test
+    void booksAnIntervalEndingAtMidnightOnTheDayItRan() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 23, 0);
+        DemandEntity demand = DemandEntity.builder().groupId("g").userId("ana").type(DemandType.Coding).startTime(start).build();
+
+        rollupService.recordInterval(demand, LocalDateTime.of(2024, 5, 2, 0, 0));
+
+        List<DemandTimeRollupEntity> increments = captureIncrements();
+        assertEquals(1, increments.size());
+        assertEquals("2024-05-01", increments.get(0).getDay());
+        assertEquals(3600, increments.get(0).getSeconds());
+    }
+
+    @Test
+    void rebuildReportsTheDriftMeasuredInMongoAndLeavesDaysAlone() {
+        when(rollupRepository.measureDrift()).thenReturn(new RollupDrift(2, 1, 60));
+
+        RollupRebuildDTO result = rollupService.rebuild();
+
+        verify(rollupRepository).rebuildTotals();
+        assertEquals(2, result.getTotals());
+        assertEquals(1, result.getDriftedKeys());
+        assertEquals(60, result.getDriftSeconds());
+        verify(rollupRepository, never()).findAll();
+        verify(rollupRepository, never()).deleteAll();
+        verify(rollupRepository, never()).saveAll(any());
+        verify(rollupRepository, never()).incrementAll(any());
+    }
+}
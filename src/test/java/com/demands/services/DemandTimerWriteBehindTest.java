@@ -0,0 +1,120 @@
+package com.demands.services;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.BulkTimerResult;
+import com.demands.infraestructure.repositories.DemandRepository;
+import com.demands.infraestructure.repositories.TimerWrite;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DemandTimerWriteBehindTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 1, 9, 0);
+
+    private final DemandRepository demandRepository = mock(DemandRepository.class);
+    private final DemandTimeRollupService rollupService = mock(DemandTimeRollupService.class);
+    private final DemandEventPublisher eventPublisher = mock(DemandEventPublisher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Collection<TimerWrite>> flushed = new ArrayList<>();
+
+    @BeforeEach
+    void everyWriteApplies() {
+        // Each demand had 60 seconds tracked before the write
+        when(demandRepository.replaceTimers(any())).thenAnswer(invocation -> {
+            Collection<TimerWrite> writes = invocation.getArgument(0);
+            flushed.add(List.copyOf(writes));
+            return new BulkTimerResult(writes.stream().collect(Collectors.toMap(TimerWrite::getDemandId,
+                    write -> DemandEntity.builder().demandId(write.getDemandId()).totalDuration(60).build())), List.of());
+        });
+    }
+
+    private DemandTimerWriteBehind writeBehind(boolean enabled, String journalDir) {
+        return new DemandTimerWriteBehind(demandRepository, rollupService, eventPublisher,
+                new DemandMetrics(registry), enabled, 2, 1000, journalDir);
+    }
+
+    private static TimerWrite write(String demandId, int minutes) {
+        return new TimerWrite(demandId, START, START.plusMinutes(minutes), START.plusSeconds(minutes));
+    }
+
+    @Test
+    void coalescesUpdatesPerDemandAndWritesOnlyTheLatest() {
+        DemandTimerWriteBehind writeBehind = writeBehind(true, "");
+        for (int minute = 1; minute <= 100; minute++) {
+            for (String demandId : List.of("a", "b", "c")) {
+                assertTrue(writeBehind.submit(write(demandId, minute)));
+            }
+        }
+        assertEquals(3, writeBehind.pendingCount());
+
+        writeBehind.flush();
+
+        // Batches of two: 300 requests became two bulk writes carrying three updates
+        assertEquals(List.of(2, 1), flushed.stream().map(Collection::size).collect(Collectors.toList()));
+        flushed.stream().flatMap(Collection::stream).forEach(write -> assertEquals(6000, write.durationSeconds()));
+        verify(rollupService, times(2)).recordAdjustments(argThat(adjustments ->
+                adjustments.values().stream().allMatch(seconds -> seconds == 5940)), any());
+        verify(eventPublisher, times(2)).publishAll(eq(DemandEventType.UPDATED), argThat(demands -> !demands.isEmpty()));
+        assertEquals(0, writeBehind.pendingCount());
+        assertEquals(300, registry.get("demands.timer.updates").tag("outcome", "buffered").counter().count());
+        assertEquals(3, registry.get("demands.timer.updates").tag("outcome", "written").counter().count());
+    }
+
+    @Test
+    void disabledWriteBehindLeavesTheWriteToTheCaller() {
+        DemandTimerWriteBehind writeBehind = writeBehind(false, "");
+
+        assertFalse(writeBehind.submit(write("a", 1)));
+        writeBehind.flush();
+        verifyNoInteractions(demandRepository);
+    }
+
+    @Test
+    void racedAndFailedWritesStayBufferedForTheNextFlush() {
+        DemandTimerWriteBehind writeBehind = writeBehind(true, "");
+        writeBehind.submit(write("a", 1));
+        writeBehind.submit(write("b", 1));
+        writeBehind.submit(write("c", 1));
+        doAnswer(invocation -> new BulkTimerResult(Map.of(), List.copyOf(invocation.<Collection<TimerWrite>>getArgument(0))))
+                .doThrow(new IllegalStateException("mongo down"))
+                .when(demandRepository).replaceTimers(any());
+
+        writeBehind.flush();
+
+        assertEquals(3, writeBehind.pendingCount());
+        assertEquals(3, registry.get("demands.timer.updates").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    void journalReplaysUnflushedUpdatesAfterACrash(@TempDir Path journal) {
+        DemandTimerWriteBehind crashed = writeBehind(true, journal.toString());
+        crashed.submit(write("a", 1));
+        crashed.submit(write("a", 2));
+        crashed.submit(write("b", 1));
+
+        DemandTimerWriteBehind restarted = writeBehind(true, journal.toString());
+        assertEquals(2, restarted.pendingCount());
+        restarted.flush();
+        assertEquals(2, flushed.stream().mapToInt(Collection::size).sum());
+        assertTrue(flushed.stream().flatMap(Collection::stream)
+                .anyMatch(write -> write.getDemandId().equals("a") && write.durationSeconds() == 120));
+
+        assertEquals(0, writeBehind(true, journal.toString()).pendingCount(), "flushed segments are deleted");
+    }
+}
@@ -0,0 +1,89 @@
+package com.demands.services;
+
+import com.demands.infraestructure.entity.DemandEntity;
+import com.demands.infraestructure.entity.DemandStatus;
+import com.demands.infraestructure.entity.DemandTransition;
+import com.demands.infraestructure.events.DemandEventType;
+import com.demands.infraestructure.exceptions.DemandConflictException;
+import com.demands.infraestructure.exceptions.DemandNotFound;
+import com.demands.infraestructure.exceptions.InvalidStatusException;
+import com.demands.infraestructure.metrics.DemandMetrics;
+import com.demands.infraestructure.repositories.ReactiveDemandRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveDemandServiceTest {
+
+    private final ReactiveDemandRepository demandRepository = mock(ReactiveDemandRepository.class);
+    private final DemandTimeRollupService rollupService = mock(DemandTimeRollupService.class);
+    private final DemandEventPublisher eventPublisher = mock(DemandEventPublisher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReactiveDemandService demandService = new ReactiveDemandService(demandRepository, rollupService,
+            eventPublisher, new DemandMetrics(registry));
+
+    @Test
+    void pauseRecordsTheRunningIntervalAndPublishesTheNewState() {
+        DemandEntity running = DemandEntity.builder().demandId("a").status(DemandStatus.IN_PROGRESS)
+                .startTime(LocalDateTime.now().minusMinutes(5)).build();
+        when(demandRepository.transition(eq("a"), eq(DemandTransition.PAUSE), any())).thenReturn(Mono.just(running));
+
+        demandService.pauseDemand("a").block();
+
+        verify(rollupService).recordInterval(eq(running), any());
+        verify(eventPublisher).publish(eq(DemandEventType.PAUSED), argThat(demand ->
+                demand.getStatus() == DemandStatus.PAUSED && demand.getTotalDuration() >= 300));
+    }
+
+    @Test
+    void closingADemandThatWasNotRunningRecordsNoInterval() {
+        DemandEntity paused = DemandEntity.builder().demandId("a").status(DemandStatus.PAUSED).build();
+        when(demandRepository.transition(eq("a"), eq(DemandTransition.CLOSE), any())).thenReturn(Mono.just(paused));
+
+        demandService.closeDemand("a").block();
+
+        verifyNoInteractions(rollupService);
+        verify(eventPublisher).publish(eq(DemandEventType.CLOSED), any());
+    }
+
+    @Test
+    void rejectedTransitionIsAConflictWhenTheDemandExistsAndNotFoundOtherwise() {
+        when(demandRepository.transition(any(), eq(DemandTransition.CONTINUE), any())).thenReturn(Mono.empty());
+        when(demandRepository.existsById("a")).thenReturn(Mono.just(true));
+        when(demandRepository.existsById("b")).thenReturn(Mono.just(false));
+
+        assertThrows(DemandConflictException.class, () -> demandService.continueDemand("a").block());
+        assertThrows(DemandNotFound.class, () -> demandService.continueDemand("b").block());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1, registry.get("demands.transitions").tags("transition", "continue", "outcome", "conflict").counter().count());
+        assertEquals(1, registry.get("demands.transitions").tags("transition", "continue", "outcome", "not_found").counter().count());
+    }
+
+    @Test
+    void invalidStatusFailsTheStreamWithoutQuerying() {
+        assertThrows(InvalidStatusException.class, () -> demandService.getDemandsByStatus("unknown", null).blockFirst());
+        verifyNoInteractions(demandRepository);
+    }
+
+    @Test
+    void managersReadTheWholeGroupAndEveryoneElseOnlyTheirOwnDemands() {
+        when(demandRepository.findAllByGroupId(any(), any())).thenReturn(Flux.empty());
+        when(demandRepository.findAllByUserId(any(), any())).thenReturn(Flux.empty());
+
+        demandService.getDemandsByUserAndSubordinates("boss", "MANAGER", "g1", null).blockLast();
+        demandService.getDemandsByUserAndSubordinates("ana", "USER", "g1", null).blockLast();
+        demandService.getDemandsByUserAndSubordinates("lone", "ADMIN", null, null).blockLast();
+
+        verify(demandRepository).findAllByGroupId("g1", null);
+        verify(demandRepository).findAllByUserId("ana", null);
+        verify(demandRepository).findAllByUserId("lone", null);
+        verifyNoMoreInteractions(demandRepository);
+    }
+}